@@ -0,0 +1,14 @@
+package com.epam.digital.data.platform.restapi.core.impl.model;
+
+public class TestEntityPartitionedSearchConditions {
+
+  private Integer consentYear;
+
+  public Integer getConsentYear() {
+    return consentYear;
+  }
+
+  public void setConsentYear(Integer consentYear) {
+    this.consentYear = consentYear;
+  }
+}
@@ -36,8 +36,7 @@ public class PagingTestEntitySearchHandler
   @Override
   public SearchConditionPage<TestEntity> search(Request<PagingTestEntitySearchConditions> input) {
     var searchCriteria = input.getPayload();
-    SearchConditionPage<TestEntity> response = super.search(input);
-    response.setTotalElements(count(input));
+    SearchConditionPage<TestEntity> response = searchWithTotalCount(input);
     response.setPageSize(limit(searchCriteria));
     response.setTotalPages(
         PageableUtils.getTotalPages(response.getPageSize(), response.getTotalElements()));
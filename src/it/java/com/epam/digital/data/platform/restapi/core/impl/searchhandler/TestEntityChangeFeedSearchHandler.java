@@ -0,0 +1,53 @@
+package com.epam.digital.data.platform.restapi.core.impl.searchhandler;
+
+import com.epam.digital.data.platform.restapi.core.impl.model.TestEntity;
+import com.epam.digital.data.platform.restapi.core.impl.model.TestEntitySearchConditions;
+import com.epam.digital.data.platform.restapi.core.searchhandler.AbstractSearchHandler;
+import java.util.Arrays;
+import java.util.List;
+import org.jooq.Condition;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.impl.DSL;
+
+public class TestEntityChangeFeedSearchHandler extends AbstractSearchHandler<
+    TestEntitySearchConditions,
+    TestEntity> {
+
+  @Override
+  protected Condition whereClause(TestEntitySearchConditions searchConditions) {
+    var c = DSL.noCondition();
+
+    if (searchConditions.getPersonFullName() != null) {
+      c = c.and(DSL.field("person_full_name").startsWithIgnoreCase(searchConditions.getPersonFullName()));
+    }
+
+    return c;
+  }
+
+  @Override
+  public String tableName() {
+    return "test_entity_versioned";
+  }
+
+  @Override
+  public Class<TestEntity> entityType() {
+    return TestEntity.class;
+  }
+
+  @Override
+  public List<SelectFieldOrAsterisk> selectFields() {
+    return Arrays.asList(DSL.field("id"),
+        DSL.field("person_gender"),
+        DSL.field("person_full_name"));
+  }
+
+  @Override
+  protected String changeVersionColumn() {
+    return "change_version";
+  }
+
+  @Override
+  protected int changeFeedBatchSize() {
+    return 2;
+  }
+}
@@ -0,0 +1,62 @@
+package com.epam.digital.data.platform.restapi.core.impl.searchhandler;
+
+import com.epam.digital.data.platform.restapi.core.impl.model.TestEntity;
+import com.epam.digital.data.platform.restapi.core.impl.model.TestEntityPartitionedSearchConditions;
+import com.epam.digital.data.platform.restapi.core.model.PartitionRange;
+import com.epam.digital.data.platform.restapi.core.searchhandler.AbstractSearchHandler;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.jooq.Condition;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.impl.DSL;
+
+public class TestEntityPartitionedSearchHandler extends AbstractSearchHandler<
+    TestEntityPartitionedSearchConditions,
+    TestEntity> {
+
+  @Override
+  protected Condition whereClause(TestEntityPartitionedSearchConditions searchConditions) {
+    var c = DSL.noCondition();
+
+    if (searchConditions.getConsentYear() != null) {
+      c = c.and(DSL.year(DSL.field("consent_date", LocalDateTime.class))
+          .eq(searchConditions.getConsentYear()));
+    }
+
+    return c;
+  }
+
+  @Override
+  protected String partitionKeyColumn() {
+    return "consent_date";
+  }
+
+  @Override
+  protected PartitionRange partitionRange(TestEntityPartitionedSearchConditions searchConditions) {
+    if (searchConditions.getConsentYear() == null) {
+      return null;
+    }
+    var range = new PartitionRange();
+    range.setFrom(LocalDateTime.of(searchConditions.getConsentYear(), 1, 1, 0, 0));
+    range.setTo(LocalDateTime.of(searchConditions.getConsentYear() + 1, 1, 1, 0, 0));
+    return range;
+  }
+
+  @Override
+  public String tableName() {
+    return "test_entity_partitioned";
+  }
+
+  @Override
+  public Class<TestEntity> entityType() {
+    return TestEntity.class;
+  }
+
+  @Override
+  public List<SelectFieldOrAsterisk> selectFields() {
+    return Arrays.asList(DSL.field("id"),
+        DSL.field("person_gender"),
+        DSL.field("person_full_name"));
+  }
+}
@@ -47,6 +47,11 @@ public class TestEntitySearchHandler extends AbstractSearchHandler<
         DSL.field("person_full_name"));
   }
 
+  @Override
+  protected List<String> aggregationColumns() {
+    return List.of("person_gender");
+  }
+
   @Override
   public Integer limit(
       TestEntitySearchConditions searchConditions) {
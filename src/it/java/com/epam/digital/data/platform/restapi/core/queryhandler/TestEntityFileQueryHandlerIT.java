@@ -12,6 +12,7 @@ import com.epam.digital.data.platform.restapi.core.impl.tabledata.TestEntityFile
 import com.epam.digital.data.platform.restapi.core.service.AccessPermissionService;
 import com.epam.digital.data.platform.restapi.core.service.JwtInfoProvider;
 import com.epam.digital.data.platform.starter.security.jwt.TokenParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.JOSEException;
 import java.util.Optional;
 import org.assertj.core.api.Assertions;
@@ -34,6 +35,8 @@ class TestEntityFileQueryHandlerIT {
 
   @Autowired
   TestEntityFileQueryHandler queryHandler;
+  @Autowired
+  ObjectMapper objectMapper;
 
   TestEntityFile entityFile = TEST_ENTITY_FILE;
 
@@ -54,4 +57,16 @@ class TestEntityFileQueryHandlerIT {
     Assertions.assertThat(found.get().getScanCopy().getChecksum())
         .isEqualTo(entityFile.getScanCopy().getChecksum());
   }
+
+  @Test
+  @DisplayName("Find by ID as JSON serializes files as the DTO does")
+  void findByIdAsJson() throws Exception {
+    var request = new Request<>(entityFile.getId(), null, mockSecurityContext());
+
+    Optional<String> found = queryHandler.findByIdAsJson(request);
+
+    Assertions.assertThat(found).isPresent();
+    Assertions.assertThat(objectMapper.readTree(found.get()))
+        .isEqualTo(objectMapper.valueToTree(queryHandler.findById(request).get()));
+  }
 }
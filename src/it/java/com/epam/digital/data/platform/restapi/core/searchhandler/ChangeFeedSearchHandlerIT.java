@@ -0,0 +1,111 @@
+package com.epam.digital.data.platform.restapi.core.searchhandler;
+
+import static com.epam.digital.data.platform.restapi.core.util.SearchHandlerTestUtil.mockRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.restapi.core.config.TestConfiguration;
+import com.epam.digital.data.platform.restapi.core.exception.InvalidChangeCursorException;
+import com.epam.digital.data.platform.restapi.core.exception.NotFoundException;
+import com.epam.digital.data.platform.restapi.core.impl.model.TestEntity;
+import com.epam.digital.data.platform.restapi.core.impl.model.TestEntitySearchConditions;
+import com.epam.digital.data.platform.restapi.core.impl.searchhandler.TestEntityChangeFeedSearchHandler;
+import com.epam.digital.data.platform.restapi.core.impl.searchhandler.TestEntitySearchHandler;
+import com.epam.digital.data.platform.restapi.core.service.AccessPermissionService;
+import com.epam.digital.data.platform.restapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
+import com.epam.digital.data.platform.starter.security.dto.RolesDto;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@TestConfiguration
+@SpringBootTest(
+    classes = {
+      TestEntityChangeFeedSearchHandler.class,
+      TestEntitySearchHandler.class,
+      AccessPermissionService.class
+    })
+class ChangeFeedSearchHandlerIT {
+
+  @MockBean
+  JwtInfoProvider jwtInfoProvider;
+
+  @Autowired
+  TestEntityChangeFeedSearchHandler instance;
+  @Autowired
+  TestEntitySearchHandler unversionedInstance;
+
+  TestEntitySearchConditions searchCriteria;
+  Request<TestEntitySearchConditions> request;
+
+  @BeforeEach
+  void setup() {
+    searchCriteria = new TestEntitySearchConditions();
+    request = mockRequest(searchCriteria);
+
+    var realmAccess = new RolesDto();
+    realmAccess.setRoles(List.of("officer"));
+    var userClaims = new JwtClaimsDto();
+    userClaims.setRealmAccess(realmAccess);
+    when(jwtInfoProvider.getUserClaims(any())).thenReturn(userClaims);
+  }
+
+  @Test
+  void shouldPageChangesInVersionOrder() {
+    var first = instance.changes(request, null);
+
+    assertThat(ids(first.getContent())).containsExactly(
+        UUID.fromString("3cc262c1-0cd8-4d45-be66-eb0fca821e0a"),
+        UUID.fromString("1ce1cad1-ff11-1fa1-b111-e07afea1cb1d"));
+    assertThat(first.isHasMore()).isTrue();
+    assertThat(first.getNextCursor()).isNotNull();
+
+    var second = instance.changes(request, first.getNextCursor());
+
+    assertThat(ids(second.getContent())).containsExactly(
+        UUID.fromString("9ce4cad9-ff50-4fa3-b893-e07afea0cb8d"));
+    assertThat(second.isHasMore()).isFalse();
+
+    var last = instance.changes(request, second.getNextCursor());
+
+    assertThat(last.getContent()).isEmpty();
+    assertThat(last.isHasMore()).isFalse();
+    assertThat(last.getNextCursor()).isEqualTo(second.getNextCursor());
+  }
+
+  @Test
+  void shouldApplySearchCriteriaToChanges() {
+    searchCriteria.setPersonFullName("Benjamin");
+
+    var found = instance.changes(request, null);
+
+    assertThat(found.getContent()).hasSize(1);
+    assertThat(found.getContent().get(0).getPersonFullName())
+        .isEqualTo("Benjamin Franklin Patronymic");
+    assertThat(found.isHasMore()).isFalse();
+  }
+
+  @Test
+  void shouldRejectInvalidCursor() {
+    assertThrows(InvalidChangeCursorException.class,
+        () -> instance.changes(request, "not a cursor"));
+  }
+
+  @Test
+  void shouldReportChangeFeedOfHandlerWithoutVersionColumnAsNotFound() {
+    assertThrows(NotFoundException.class, () -> unversionedInstance.changes(request, null));
+  }
+
+  private List<UUID> ids(List<TestEntity> entities) {
+    return entities.stream().map(TestEntity::getId).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,69 @@
+package com.epam.digital.data.platform.restapi.core.searchhandler;
+
+import static com.epam.digital.data.platform.restapi.core.util.DaoTestUtils.TEST_ENTITY;
+import static com.epam.digital.data.platform.restapi.core.util.SearchHandlerTestUtil.mockRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.search.SearchConditionPage;
+import com.epam.digital.data.platform.restapi.core.config.AsyncConfig;
+import com.epam.digital.data.platform.restapi.core.config.TestConfiguration;
+import com.epam.digital.data.platform.restapi.core.impl.model.PagingTestEntitySearchConditions;
+import com.epam.digital.data.platform.restapi.core.impl.model.TestEntity;
+import com.epam.digital.data.platform.restapi.core.impl.model.TypGender;
+import com.epam.digital.data.platform.restapi.core.impl.searchhandler.PagingTestEntitySearchHandler;
+import com.epam.digital.data.platform.restapi.core.service.AccessPermissionService;
+import com.epam.digital.data.platform.restapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.restapi.core.service.ParallelReadExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@TestConfiguration
+@SpringBootTest(
+    classes = {
+      PagingTestEntitySearchHandler.class,
+      AccessPermissionService.class,
+      ParallelReadExecutor.class,
+      AsyncConfig.class,
+      DataSourceTransactionManagerAutoConfiguration.class
+    },
+    properties = {
+      "data-platform.search.parallel-count.enabled=true",
+      "data-platform.search.parallel-count.consistency=snapshot"
+    })
+@MockBean(JwtInfoProvider.class)
+class ParallelSearchHandlerIT {
+
+  static final String STARTS_WITH = "John";
+
+  @Autowired
+  PagingTestEntitySearchHandler pagingInstance;
+
+  PagingTestEntitySearchConditions pagingSearchCriteria;
+  Request<PagingTestEntitySearchConditions> pagingRequest;
+
+  @BeforeEach
+  void setup() {
+    pagingSearchCriteria = new PagingTestEntitySearchConditions();
+    pagingRequest = mockRequest(pagingSearchCriteria);
+  }
+
+  @Test
+  void shouldFindPagedResponseWithParallelCount() {
+    pagingSearchCriteria.setPersonFullName(STARTS_WITH);
+    pagingSearchCriteria.setPersonGender(TypGender.M);
+    pagingSearchCriteria.setPageNo(1);
+    pagingSearchCriteria.setPageSize(1);
+
+    final SearchConditionPage<TestEntity> found = pagingInstance.search(pagingRequest);
+
+    assertThat(found.getContent()).hasSize(1);
+    assertThat(found.getContent().get(0).getPersonFullName()).isEqualTo(TEST_ENTITY.getPersonFullName());
+    assertThat(found.getTotalPages()).isEqualTo(2);
+    assertThat(found.getTotalElements()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,73 @@
+package com.epam.digital.data.platform.restapi.core.searchhandler;
+
+import static com.epam.digital.data.platform.restapi.core.util.SearchHandlerTestUtil.mockRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.digital.data.platform.restapi.core.config.TestConfiguration;
+import com.epam.digital.data.platform.restapi.core.impl.model.TestEntityPartitionedSearchConditions;
+import com.epam.digital.data.platform.restapi.core.impl.searchhandler.TestEntityPartitionedSearchHandler;
+import com.epam.digital.data.platform.restapi.core.jooq.PartitionPruningReporter;
+import com.epam.digital.data.platform.restapi.core.service.AccessPermissionService;
+import com.epam.digital.data.platform.restapi.core.service.JwtInfoProvider;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@TestConfiguration
+@SpringBootTest(
+    classes = {
+      TestEntityPartitionedSearchHandler.class,
+      AccessPermissionService.class,
+      PartitionPruningReporter.class,
+      SimpleMeterRegistry.class
+    },
+    properties = {
+      "logging.level.com.epam.digital.data.platform.restapi.core.jooq.PartitionPruningReporter=debug",
+      "data-platform.db.partition-pruning-report.sample-rate=1"
+    })
+@MockBean(JwtInfoProvider.class)
+class PartitionedSearchHandlerIT {
+
+  @Autowired
+  TestEntityPartitionedSearchHandler instance;
+  @Autowired
+  SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void init() {
+    meterRegistry.clear();
+  }
+
+  @Test
+  void shouldSearchWithinDeclaredPartitionRange() {
+    var searchCriteria = new TestEntityPartitionedSearchConditions();
+    searchCriteria.setConsentYear(2021);
+
+    var found = instance.search(mockRequest(searchCriteria));
+
+    assertThat(found.getContent()).hasSize(1);
+    assertThat(found.getContent().get(0).getPersonFullName())
+        .isEqualTo("Benjamin Franklin Patronymic");
+    assertThat(prunedPartitions().count()).isEqualTo(1);
+    assertThat(prunedPartitions().totalAmount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldSearchAllPartitionsWithoutRange() {
+    var found = instance.search(mockRequest(new TestEntityPartitionedSearchConditions()));
+
+    assertThat(found.getContent()).hasSize(2);
+    assertThat(prunedPartitions().count()).isEqualTo(1);
+    assertThat(prunedPartitions().totalAmount()).isZero();
+  }
+
+  private DistributionSummary prunedPartitions() {
+    return meterRegistry.get("data_platform_db_pruned_partitions")
+        .tag("table", "test_entity_partitioned")
+        .summary();
+  }
+}
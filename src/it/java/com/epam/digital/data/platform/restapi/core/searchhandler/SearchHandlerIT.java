@@ -4,10 +4,15 @@ import static com.epam.digital.data.platform.restapi.core.util.DaoTestUtils.TEST
 import static com.epam.digital.data.platform.restapi.core.util.DaoTestUtils.TEST_SINGLE_FIELD_ENTITY;
 import static com.epam.digital.data.platform.restapi.core.util.SearchHandlerTestUtil.mockRequest;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
 
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.search.SearchConditionPage;
+import com.epam.digital.data.platform.restapi.core.config.GenericConfig;
 import com.epam.digital.data.platform.restapi.core.config.TestConfiguration;
+import com.epam.digital.data.platform.restapi.core.exception.ForbiddenOperationException;
 import com.epam.digital.data.platform.restapi.core.impl.model.PagingTestEntitySearchConditions;
 import com.epam.digital.data.platform.restapi.core.impl.model.TestEntity;
 import com.epam.digital.data.platform.restapi.core.impl.model.TestEntitySearchConditions;
@@ -18,28 +23,44 @@ import com.epam.digital.data.platform.restapi.core.impl.searchhandler.PagingTest
 import com.epam.digital.data.platform.restapi.core.impl.searchhandler.TestEntitySearchHandler;
 
 import com.epam.digital.data.platform.restapi.core.impl.searchhandler.TestSingleFieldEntitySearchHandler;
+import com.epam.digital.data.platform.restapi.core.model.AggregationCriteria;
+import com.epam.digital.data.platform.restapi.core.model.AggregationGroup;
+import com.epam.digital.data.platform.restapi.core.service.AccessPermissionService;
+import com.epam.digital.data.platform.restapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
+import com.epam.digital.data.platform.starter.security.dto.RolesDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 
 @TestConfiguration
 @SpringBootTest(
     classes = {
       TestEntitySearchHandler.class,
       TestSingleFieldEntitySearchHandler.class,
-      PagingTestEntitySearchHandler.class
+      PagingTestEntitySearchHandler.class,
+      AccessPermissionService.class,
+      GenericConfig.class
     })
 class SearchHandlerIT {
 
   static final String STARTS_WITH = "John";
 
+  @MockBean
+  JwtInfoProvider jwtInfoProvider;
+
   @Autowired
   TestEntitySearchHandler instance;
   @Autowired
   TestSingleFieldEntitySearchHandler singleFieldEntitySearchHandlerInstance;
   @Autowired
   PagingTestEntitySearchHandler pagingInstance;
+  @Autowired
+  ObjectMapper objectMapper;
 
   TestEntitySearchConditions searchCriteria;
   TestSingleFieldEntitySearchConditions searchSingleFieldCriteria;
@@ -56,6 +77,12 @@ class SearchHandlerIT {
     singleFieldRequest = mockRequest(searchSingleFieldCriteria);
     pagingSearchCriteria = new PagingTestEntitySearchConditions();
     pagingRequest = mockRequest(pagingSearchCriteria);
+
+    var realmAccess = new RolesDto();
+    realmAccess.setRoles(List.of("officer"));
+    var userClaims = new JwtClaimsDto();
+    userClaims.setRealmAccess(realmAccess);
+    when(jwtInfoProvider.getUserClaims(any())).thenReturn(userClaims);
   }
 
   @Test
@@ -79,6 +106,40 @@ class SearchHandlerIT {
     assertThat(found.getPageNo()).isNull();
     assertThat(found.getPageSize()).isNull();
   }
+
+  @Test
+  void shouldSearchAsJsonByMultipleSearchCriteria() throws Exception {
+    searchCriteria.setPersonFullName(STARTS_WITH);
+    searchCriteria.setPersonGender(TypGender.M);
+
+    final String found = instance.searchAsJson(request);
+
+    var content = objectMapper.readValue(found, TestEntity[].class);
+    assertThat(content).hasSize(2);
+    assertThat(content[0].getPersonFullName()).isEqualTo(TEST_ENTITY.getPersonFullName());
+    assertThat(content[0].getPersonGender()).isEqualTo(TEST_ENTITY.getPersonGender());
+  }
+
+  @Test
+  void shouldSearchAsJsonSameAsDtoSerialization() throws Exception {
+    searchCriteria.setPersonFullName(STARTS_WITH);
+    searchSingleFieldCriteria.setPersonFullName(STARTS_WITH);
+
+    assertThat(objectMapper.readTree(instance.searchAsJson(request)))
+        .isEqualTo(objectMapper.valueToTree(instance.search(request).getContent()));
+    assertThat(objectMapper.readTree(
+            singleFieldEntitySearchHandlerInstance.searchAsJson(singleFieldRequest)))
+        .isEqualTo(objectMapper.valueToTree(
+            singleFieldEntitySearchHandlerInstance.search(singleFieldRequest).getContent()));
+  }
+
+  @Test
+  void shouldReturnEmptyJsonArrayWhenNothingFound() {
+    searchCriteria.setPersonFullName("Nobody");
+
+    assertThat(instance.searchAsJson(request)).isEqualTo("[]");
+  }
+
   @Test
   void shouldSearchBySingleSearchCriteria() {
     searchSingleFieldCriteria.setPersonFullName(STARTS_WITH);
@@ -106,4 +167,36 @@ class SearchHandlerIT {
     assertThat(found.getTotalPages()).isEqualTo(2);
     assertThat(found.getTotalElements()).isEqualTo(2);
   }
+
+  @Test
+  void shouldAggregateByAllowedColumn() {
+    var aggregation = new AggregationCriteria();
+    aggregation.setGroupBy(List.of("person_gender"));
+
+    final List<AggregationGroup> groups = instance.aggregate(request, aggregation);
+
+    assertThat(groups).hasSize(2);
+    assertThat(groups).extracting(AggregationGroup::getCount).containsExactlyInAnyOrder(1L, 2L);
+  }
+
+  @Test
+  void shouldAggregateWithSearchCriteria() {
+    searchCriteria.setPersonFullName(STARTS_WITH);
+    var aggregation = new AggregationCriteria();
+    aggregation.setGroupBy(List.of("person_gender"));
+
+    final List<AggregationGroup> groups = instance.aggregate(request, aggregation);
+
+    assertThat(groups).hasSize(1);
+    assertThat(groups.get(0).getCount()).isEqualTo(2L);
+  }
+
+  @Test
+  void shouldNotAggregateByNotAllowedColumn() {
+    var aggregation = new AggregationCriteria();
+    aggregation.setGroupBy(List.of("person_pass_number"));
+
+    assertThrows(
+        ForbiddenOperationException.class, () -> instance.aggregate(request, aggregation));
+  }
 }
@@ -9,14 +9,18 @@ import com.epam.digital.data.platform.restapi.core.config.TestConfiguration;
 import com.epam.digital.data.platform.restapi.core.impl.model.TestEntityFile;
 import com.epam.digital.data.platform.restapi.core.impl.model.TestEntityFileSearchConditions;
 import com.epam.digital.data.platform.restapi.core.impl.searchhandler.TestEntityFileSearchHandler;
+import com.epam.digital.data.platform.restapi.core.service.AccessPermissionService;
+import com.epam.digital.data.platform.restapi.core.service.JwtInfoProvider;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 
 @TestConfiguration
-@SpringBootTest(classes = {TestEntityFileSearchHandler.class})
+@SpringBootTest(classes = {TestEntityFileSearchHandler.class, AccessPermissionService.class})
+@MockBean(JwtInfoProvider.class)
 class TestEntityFileSearchHandlerIT {
 
   static final String STARTS_WITH = "FOP John";
@@ -0,0 +1,60 @@
+package com.epam.digital.data.platform.restapi.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.digital.data.platform.restapi.core.config.TestConfiguration;
+import com.epam.digital.data.platform.restapi.core.impl.model.TypGender;
+import com.epam.digital.data.platform.restapi.core.utils.JooqConditions;
+import java.util.List;
+import java.util.UUID;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@TestConfiguration
+@SpringBootTest
+class JooqConditionsIT {
+
+  @Autowired
+  DSLContext context;
+
+  @Test
+  void shouldMatchUuidColumn() {
+    var ids = List.of(
+        UUID.fromString("3cc262c1-0cd8-4d45-be66-eb0fca821e0a"),
+        UUID.fromString("9ce4cad9-ff50-4fa3-b893-e07afea0cb8d"),
+        UUID.randomUUID());
+
+    assertThat(countTestEntities(JooqConditions.eqAny(DSL.field("id"), ids))).isEqualTo(2);
+  }
+
+  @Test
+  void shouldMatchUuidColumnByStrings() {
+    var ids = List.of("3cc262c1-0cd8-4d45-be66-eb0fca821e0a");
+
+    assertThat(countTestEntities(JooqConditions.eqAny(DSL.field("id"), ids))).isEqualTo(1);
+  }
+
+  @Test
+  void shouldMatchVarcharColumn() {
+    var passNumbers = List.of("AB123456", "XY098765", "not a \"pass\" number");
+
+    assertThat(countTestEntities(
+        JooqConditions.eqAny(DSL.field("person_pass_number"), passNumbers))).isEqualTo(2);
+  }
+
+  @Test
+  void shouldMatchEnumColumn() {
+    var genders = List.of(TypGender.W);
+
+    assertThat(countTestEntities(
+        JooqConditions.eqAny(DSL.field("person_gender"), genders))).isEqualTo(1);
+  }
+
+  private int countTestEntities(Condition condition) {
+    return context.fetchCount(DSL.table("test_entity"), condition);
+  }
+}
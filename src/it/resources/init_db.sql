@@ -166,4 +166,36 @@ FROM test_entity c;
 
 CREATE OR REPLACE VIEW test_entity_file_by_legal_entity_name_starts_with_v AS
 SELECT c.id, c.legal_entity_name, c.scan_copy
-FROM test_entity_file c;
\ No newline at end of file
+FROM test_entity_file c;
+--- test_entity_partitioned:
+CREATE TABLE test_entity_partitioned
+(
+    id      UUID NOT NULL,
+    consent_date     timestamp NOT NULL,
+    person_full_name   varchar(255),
+    person_gender       type_gender
+) PARTITION BY RANGE (consent_date);
+
+CREATE TABLE test_entity_partitioned_2020 PARTITION OF test_entity_partitioned
+    FOR VALUES FROM ('2020-01-01') TO ('2021-01-01');
+CREATE TABLE test_entity_partitioned_2021 PARTITION OF test_entity_partitioned
+    FOR VALUES FROM ('2021-01-01') TO ('2022-01-01');
+
+insert into test_entity_partitioned (id, consent_date, person_full_name, person_gender)
+values ('3cc262c1-0cd8-4d45-be66-eb0fca821e0a', '2020-01-15 12:00:01', 'John Doe Patronymic', 'M'),
+       ('9ce4cad9-ff50-4fa3-b893-e07afea0cb8d', '2021-03-10 09:30:00', 'Benjamin Franklin Patronymic', 'W');
+
+--- test_entity_versioned:
+CREATE TABLE test_entity_versioned
+(
+    id      UUID NOT NULL,
+    person_full_name   varchar(255),
+    person_gender       type_gender,
+    change_version    bigint NOT NULL,
+    CONSTRAINT pk_test_entity_versioned PRIMARY KEY (id)
+);
+
+insert into test_entity_versioned (id, person_full_name, person_gender, change_version)
+values ('3cc262c1-0cd8-4d45-be66-eb0fca821e0a', 'John Doe Patronymic', 'M', 10),
+       ('1ce1cad1-ff11-1fa1-b111-e07afea1cb1d', 'John Doe Patronymic', 'M', 20),
+       ('9ce4cad9-ff50-4fa3-b893-e07afea0cb8d', 'Benjamin Franklin Patronymic', 'W', 30);
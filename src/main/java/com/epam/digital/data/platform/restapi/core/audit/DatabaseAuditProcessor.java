@@ -113,7 +113,9 @@ public class DatabaseAuditProcessor implements AuditProcessor<Operation> {
       return null;
     }
 
-    Set<String> fields = entityConverter.entityToMap(dto).keySet();
+    Set<String> fields = dto instanceof String
+        ? entityConverter.jsonFieldNames((String) dto)
+        : entityConverter.entityToMap(dto).keySet();
     if (fields.isEmpty()) {
       fields = null;
     }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.config;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+  /**
+   * Spring Boot creates its {@code applicationTaskExecutor} only while there is no other
+   * Executor bean, so the executors below would switch it off. It is declared here the way Boot
+   * declares it and stays the primary executor for {@code @Async} and async MVC requests.
+   */
+  @Lazy
+  @Primary
+  @Bean(name = {
+      TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+      AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+  public ThreadPoolTaskExecutor applicationTaskExecutor(
+      ObjectProvider<TaskExecutorBuilder> taskExecutorBuilder) {
+    return taskExecutorBuilder.getIfAvailable(TaskExecutorBuilder::new).build();
+  }
+
+  @Bean
+  public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator(
+      Optional<Tracer> tracer) {
+    return new ContextPropagatingTaskDecorator(tracer.orElse(null));
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor compositeReadExecutor(
+      @Value("${data-platform.composite-read.pool-size:8}") int poolSize,
+      @Value("${data-platform.composite-read.queue-capacity:100}") int queueCapacity,
+      ContextPropagatingTaskDecorator taskDecorator) {
+    return boundedExecutor("composite-read-", poolSize, queueCapacity, taskDecorator);
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor parallelSearchExecutor(
+      @Value("${data-platform.search.parallel-count.pool-size:8}") int poolSize,
+      @Value("${data-platform.search.parallel-count.queue-capacity:100}") int queueCapacity,
+      ContextPropagatingTaskDecorator taskDecorator) {
+    return boundedExecutor("parallel-search-", poolSize, queueCapacity, taskDecorator);
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor kafkaResponseExecutor(
+      @Value("${data-platform.kafka-request.async.pool-size:16}") int poolSize,
+      @Value("${data-platform.kafka-request.async.queue-capacity:1000}") int queueCapacity,
+      ContextPropagatingTaskDecorator taskDecorator) {
+    return boundedExecutor("kafka-response-", poolSize, queueCapacity, taskDecorator);
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor signatureReadExecutor(
+      @Value("${data-platform.signature.read.pool-size:8}") int poolSize,
+      @Value("${data-platform.signature.read.queue-capacity:100}") int queueCapacity,
+      ContextPropagatingTaskDecorator taskDecorator) {
+    var executor = boundedExecutor("signature-read-", poolSize, queueCapacity, taskDecorator);
+    // a read that does not fit into the queue runs on the request thread
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    return executor;
+  }
+
+  private ThreadPoolTaskExecutor boundedExecutor(
+      String threadNamePrefix, int poolSize, int queueCapacity,
+      ContextPropagatingTaskDecorator taskDecorator) {
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix(threadNamePrefix);
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setTaskDecorator(taskDecorator);
+    return executor;
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.config;
+
+import com.epam.digital.data.platform.restapi.core.idempotency.InMemoryReplyCache;
+import com.epam.digital.data.platform.restapi.core.idempotency.RedisReplyCache;
+import com.epam.digital.data.platform.restapi.core.idempotency.ReplyCache;
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+@ConditionalOnProperty(
+    prefix = "data-platform.async-operation", name = "enabled", havingValue = "true")
+public class AsyncOperationConfig {
+
+  @Bean
+  public ReplyCache asyncOperationStore(
+      @Value("${data-platform.async-operation.store:memory}") String store,
+      @Value("${data-platform.async-operation.max-size:10000}") int maxSize,
+      @Value("${data-platform.async-operation.ttl:PT1H}") Duration ttl,
+      ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+      Clock clock) {
+    if ("redis".equals(store)) {
+      return new RedisReplyCache(
+          new StringRedisTemplate(redisConnectionFactory.getObject()), ttl, "async-operation:");
+    }
+    return new InMemoryReplyCache(maxSize, ttl, clock);
+  }
+}
@@ -19,13 +19,26 @@ package com.epam.digital.data.platform.restapi.core.config;
 import com.epam.digital.data.platform.integration.ceph.config.S3ConfigProperties;
 import com.epam.digital.data.platform.integration.ceph.factory.CephS3Factory;
 import com.epam.digital.data.platform.integration.ceph.service.CephService;
+import com.epam.digital.data.platform.restapi.core.service.CephDeletionQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 @Configuration
-public class CephClientConfig {
+public class CephClientConfig implements DisposableBean {
+
+  /**
+   * Owned by this configuration rather than registered as a bean: any TaskScheduler bean in the
+   * context makes Spring Boot back off from creating its default {@code taskScheduler}.
+   */
+  private final ThreadPoolTaskScheduler cephDeletionScheduler = new ThreadPoolTaskScheduler();
 
   @Bean
   @ConfigurationProperties(prefix = "s3.config")
@@ -55,4 +68,27 @@ public class CephClientConfig {
       CephS3Factory cephS3Factory) {
     return cephS3Factory.createCephService(uri, accessKey, secretKey);
   }
+
+  @Bean(initMethod = "start", destroyMethod = "stop")
+  public CephDeletionQueue datafactoryResponseDeletionQueue(
+      @Qualifier("datafactoryResponseCephService") CephService datafactoryResponseCephService,
+      @Value("${datafactory-response-ceph.bucket}") String bucket,
+      @Value("${datafactory-response-ceph.deletion.batch-size:100}") int batchSize,
+      @Value("${datafactory-response-ceph.deletion.max-pending:10000}") int maxPending,
+      @Value("${datafactory-response-ceph.deletion.flush-interval:PT5S}") Duration flushInterval,
+      @Value("${datafactory-response-ceph.deletion.max-attempts:5}") int maxAttempts,
+      @Value("${datafactory-response-ceph.deletion.initial-backoff:PT1S}") Duration initialBackoff,
+      MeterRegistry meterRegistry,
+      Clock clock) {
+    cephDeletionScheduler.setThreadNamePrefix("ceph-deletion-");
+    cephDeletionScheduler.setPoolSize(1);
+    cephDeletionScheduler.initialize();
+    return new CephDeletionQueue(datafactoryResponseCephService, bucket, cephDeletionScheduler,
+        meterRegistry, clock, batchSize, maxPending, flushInterval, maxAttempts, initialBackoff);
+  }
+
+  @Override
+  public void destroy() {
+    cephDeletionScheduler.shutdown();
+  }
 }
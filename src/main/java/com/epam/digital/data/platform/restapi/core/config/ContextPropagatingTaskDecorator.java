@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.config;
+
+import com.epam.digital.data.platform.restapi.core.jooq.QueryDeadline;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import org.slf4j.MDC;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Runs tasks with the MDC, security context, query deadline and, when tracing is enabled, the
+ * current Sleuth span of the submitting thread.
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+  private final Tracer tracer;
+
+  public ContextPropagatingTaskDecorator() {
+    this(null);
+  }
+
+  public ContextPropagatingTaskDecorator(Tracer tracer) {
+    this.tracer = tracer;
+  }
+
+  @Override
+  public Runnable decorate(Runnable runnable) {
+    return capture().apply(runnable);
+  }
+
+  /**
+   * Wraps the executor so its tasks run with the context of the thread calling this method,
+   * not of the thread that submits them later (e.g. a Kafka consumer completing a future).
+   */
+  public Executor withCurrentContext(Executor executor) {
+    var context = capture();
+    return task -> executor.execute(context.apply(task));
+  }
+
+  private CapturedContext capture() {
+    return new CapturedContext(
+        CapturedThreadContext.capture(), tracer, tracer == null ? null : tracer.currentSpan());
+  }
+
+  private static final class CapturedContext {
+
+    private final CapturedThreadContext threadContext;
+    private final Tracer tracer;
+    private final Span span;
+
+    private CapturedContext(CapturedThreadContext threadContext, Tracer tracer, Span span) {
+      this.threadContext = threadContext;
+      this.tracer = tracer;
+      this.span = span;
+    }
+
+    Runnable apply(Runnable runnable) {
+      return () -> {
+        var previous = CapturedThreadContext.capture();
+        CapturedThreadContext.restore(threadContext);
+        try {
+          if (span == null) {
+            runnable.run();
+          } else {
+            try (var ignored = tracer.withSpan(span)) {
+              runnable.run();
+            }
+          }
+        } finally {
+          CapturedThreadContext.restore(previous);
+        }
+      };
+    }
+  }
+
+  private static final class CapturedThreadContext {
+
+    private final Map<String, String> mdcContext;
+    private final SecurityContext securityContext;
+    private final Long queryDeadline;
+
+    private CapturedThreadContext(
+        Map<String, String> mdcContext, SecurityContext securityContext, Long queryDeadline) {
+      this.mdcContext = mdcContext;
+      this.securityContext = securityContext;
+      this.queryDeadline = queryDeadline;
+    }
+
+    static CapturedThreadContext capture() {
+      return new CapturedThreadContext(
+          MDC.getCopyOfContextMap(), SecurityContextHolder.getContext(), QueryDeadline.get());
+    }
+
+    static void restore(CapturedThreadContext context) {
+      if (context.mdcContext == null) {
+        MDC.clear();
+      } else {
+        MDC.setContextMap(context.mdcContext);
+      }
+      SecurityContextHolder.setContext(context.securityContext);
+      if (context.queryDeadline == null) {
+        QueryDeadline.clear();
+      } else {
+        QueryDeadline.set(context.queryDeadline);
+      }
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.config;
+
+import com.epam.digital.data.platform.restapi.core.jooq.QueryCancellationListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class QueryCancellationConfig implements DisposableBean {
+
+  /**
+   * Owned by this configuration rather than registered as a bean: any TaskScheduler bean in the
+   * context makes Spring Boot back off from creating its default {@code taskScheduler}.
+   */
+  private final ThreadPoolTaskScheduler queryCancellationScheduler = new ThreadPoolTaskScheduler();
+
+  @Bean
+  public ExecuteListenerProvider queryCancellationListenerProvider(MeterRegistry meterRegistry) {
+    queryCancellationScheduler.setThreadNamePrefix("query-cancellation-");
+    queryCancellationScheduler.setPoolSize(1);
+    queryCancellationScheduler.setRemoveOnCancelPolicy(true);
+    queryCancellationScheduler.initialize();
+    return new DefaultExecuteListenerProvider(
+        new QueryCancellationListener(queryCancellationScheduler, meterRegistry));
+  }
+
+  @Override
+  public void destroy() {
+    queryCancellationScheduler.shutdown();
+  }
+}
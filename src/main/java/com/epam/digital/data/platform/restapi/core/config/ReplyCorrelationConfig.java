@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.config;
+
+import com.epam.digital.data.platform.restapi.core.kafka.HashedWheelTimer;
+import com.epam.digital.data.platform.restapi.core.kafka.ReplyCorrelationEngine;
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Replaces the correlation of {@code ReplyingKafkaTemplate} with {@link ReplyCorrelationEngine}.
+ * The reply listener container has to use the {@code replyCorrelationEngine} bean as its message
+ * listener, and the {@code ReplyingKafkaTemplate} beans of the services have to be created with
+ * {@code autoStartup} disabled: they are used only to send, and services fail to start otherwise.
+ */
+@Configuration
+@ConditionalOnProperty(
+    prefix = "data-platform.kafka-request.correlation", name = "engine", havingValue = "wheel")
+public class ReplyCorrelationConfig {
+
+  @Bean(destroyMethod = "stop")
+  public HashedWheelTimer replyTimeoutTimer(
+      @Value("${data-platform.kafka-request.correlation.tick:PT0.1S}") Duration tick,
+      @Value("${data-platform.kafka-request.correlation.wheel-size:512}") int wheelSize) {
+    return new HashedWheelTimer("reply-timeout", tick, wheelSize);
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor replyDispatchExecutor(
+      @Value("${data-platform.kafka-request.correlation.dispatch-pool-size:2}") int poolSize) {
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix("reply-dispatch-");
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(1000);
+    // a saturated pool slows down the reply consumer instead of dropping replies
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    return executor;
+  }
+
+  @Bean
+  public ReplyCorrelationEngine replyCorrelationEngine(
+      HashedWheelTimer replyTimeoutTimer,
+      @Qualifier("replyDispatchExecutor") ThreadPoolTaskExecutor replyDispatchExecutor,
+      @Value("${data-platform.kafka-request.correlation.shared-reply-topic:false}")
+          boolean sharedReplyTopic) {
+    return new ReplyCorrelationEngine(replyTimeoutTimer, replyDispatchExecutor, sharedReplyTopic);
+  }
+}
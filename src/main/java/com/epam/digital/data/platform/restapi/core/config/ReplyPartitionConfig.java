@@ -0,0 +1,40 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.config;
+
+import com.epam.digital.data.platform.restapi.core.kafka.ReplyPartitionAssignment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(
+    prefix = "data-platform.kafka-request.reply-partitions", name = "enabled", havingValue = "true")
+public class ReplyPartitionConfig {
+
+  @Bean
+  public ReplyPartitionAssignment replyPartitionAssignment(
+      @Value("${data-platform.kafka-request.reply-partitions.instance-index:-1}") int instanceIndex,
+      @Value("${data-platform.kafka-request.reply-partitions.per-instance:1}") int perInstance,
+      @Value("${HOSTNAME:}") String hostname) {
+    if (instanceIndex < 0) {
+      instanceIndex = ReplyPartitionAssignment.instanceIndexOf(hostname);
+    }
+    return new ReplyPartitionAssignment(instanceIndex, perInstance);
+  }
+}
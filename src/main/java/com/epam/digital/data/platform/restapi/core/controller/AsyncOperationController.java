@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.controller;
+
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.kafka.RequestContext;
+import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
+import com.epam.digital.data.platform.restapi.core.annotation.HttpRequestContext;
+import com.epam.digital.data.platform.restapi.core.annotation.HttpSecurityContext;
+import com.epam.digital.data.platform.restapi.core.audit.AuditableController;
+import com.epam.digital.data.platform.restapi.core.model.AsyncOperation;
+import com.epam.digital.data.platform.restapi.core.model.AsyncOperation.State;
+import com.epam.digital.data.platform.restapi.core.service.AsyncOperationService;
+import com.epam.digital.data.platform.restapi.core.utils.ResponseResolverUtil;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnProperty(
+    prefix = "data-platform.async-operation", name = "enabled", havingValue = "true")
+public class AsyncOperationController {
+
+  private final AsyncOperationService asyncOperationService;
+
+  public AsyncOperationController(AsyncOperationService asyncOperationService) {
+    this.asyncOperationService = asyncOperationService;
+  }
+
+  @AuditableController
+  @GetMapping("/operations/{operationId}")
+  public ResponseEntity<?> getOperation(
+      @PathVariable("operationId") UUID operationId,
+      @HttpRequestContext RequestContext context,
+      @HttpSecurityContext SecurityContext securityContext) {
+    Request<UUID> request = new Request<>(operationId, context, securityContext);
+    AsyncOperation operation = asyncOperationService.getOperation(request);
+    if (operation.getState() == State.PENDING) {
+      return ResponseEntity.status(HttpStatus.ACCEPTED).body(operation);
+    }
+    return ResponseResolverUtil.getHttpResponseFromKafka(
+        asyncOperationService.getResponse(operation));
+  }
+}
@@ -19,15 +19,18 @@ package com.epam.digital.data.platform.restapi.core.converter;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.RequestContext;
 import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
@@ -70,6 +73,16 @@ public class EntityConverter<T> {
     return entityMap;
   }
 
+  public Set<String> jsonFieldNames(String json) {
+    try {
+      var fields = new LinkedHashSet<String>();
+      objectMapper.readTree(json).fieldNames().forEachRemaining(fields::add);
+      return fields;
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Can not read field names from JSON", e);
+    }
+  }
+
   public Map<String, String> buildSysValues(String userId, Request<T> input) {
     RequestContext context = input.getRequestContext();
     SecurityContext securityContext = input.getSecurityContext();
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.converter.jooq;
+
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.jooq.Binding;
+import org.jooq.BindingGetResultSetContext;
+import org.jooq.BindingGetSQLInputContext;
+import org.jooq.BindingGetStatementContext;
+import org.jooq.BindingRegisterContext;
+import org.jooq.BindingSQLContext;
+import org.jooq.BindingSetSQLOutputContext;
+import org.jooq.BindingSetStatementContext;
+import org.jooq.Converter;
+import org.jooq.EnumType;
+import org.jooq.conf.ParamType;
+import org.jooq.impl.DSL;
+
+/**
+ * Binds an array as a PostgreSQL array literal of unspecified type. The server resolves the
+ * parameter from the expression it is used in, so in {@code column = any(?)} it becomes an
+ * array of the column's own type ({@code uuid[]}, {@code varchar[]}, an enum array, ...).
+ * Write-only: the binding is meant for condition parameters.
+ */
+public class ArrayLiteralBinding implements Binding<String, Object[]> {
+
+  private final Converter<String, Object[]> converter = new ArrayLiteralConverter();
+
+  @Override
+  public Converter<String, Object[]> converter() {
+    return converter;
+  }
+
+  @Override
+  public void sql(BindingSQLContext<Object[]> ctx) {
+    if (ctx.render().paramType() == ParamType.INLINED) {
+      ctx.render().visit(DSL.inline(ctx.convert(converter).value()));
+    } else {
+      ctx.render().sql(ctx.variable());
+    }
+  }
+
+  @Override
+  public void register(BindingRegisterContext<Object[]> ctx) throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public void set(BindingSetStatementContext<Object[]> ctx) throws SQLException {
+    ctx.statement().setObject(ctx.index(), ctx.convert(converter).value(), Types.OTHER);
+  }
+
+  @Override
+  public void set(BindingSetSQLOutputContext<Object[]> ctx) throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public void get(BindingGetResultSetContext<Object[]> ctx) throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public void get(BindingGetStatementContext<Object[]> ctx) throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public void get(BindingGetSQLInputContext<Object[]> ctx) throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  static class ArrayLiteralConverter implements Converter<String, Object[]> {
+
+    @Override
+    public Object[] from(String literal) {
+      throw new UnsupportedOperationException("Array literals are not read back");
+    }
+
+    @Override
+    public String to(Object[] values) {
+      if (values == null) {
+        return null;
+      }
+      return Arrays.stream(values)
+          .map(ArrayLiteralConverter::element)
+          .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    @Override
+    public Class<String> fromType() {
+      return String.class;
+    }
+
+    @Override
+    public Class<Object[]> toType() {
+      return Object[].class;
+    }
+
+    private static String element(Object value) {
+      if (value == null) {
+        return "NULL";
+      }
+      var text = value instanceof EnumType
+          ? ((EnumType) value).getLiteral()
+          : value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+      return '"' + text.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+  }
+}
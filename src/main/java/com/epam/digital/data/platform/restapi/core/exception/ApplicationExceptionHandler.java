@@ -143,6 +143,16 @@ public class ApplicationExceptionHandler extends ResponseEntityExceptionHandler
         .body(newDetailedResponse(ResponseCode.TIMEOUT_ERROR));
   }
 
+  @AuditableException
+  @ExceptionHandler(KafkaRequestRejectedException.class)
+  public ResponseEntity<DetailedErrorResponse<Void>> handleKafkaRequestRejectedException(
+      KafkaRequestRejectedException exception) {
+    // expected under load, the stack trace adds nothing to the message
+    log.warn("Kafka request rejected: {}", exception.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .body(newDetailedResponse(ResponseCode.TOO_MANY_REQUESTS_IN_FLIGHT));
+  }
+
   @AuditableException(userInfoEnabled = false)
   @ExceptionHandler(AuthenticationException.class)
   public ResponseEntity<DetailedErrorResponse<Void>> handleAuthenticationException(
@@ -357,6 +367,51 @@ public class ApplicationExceptionHandler extends ResponseEntityExceptionHandler
         .body(newDetailedResponse(ResponseCode.INVALID_HEADER_VALUE));
   }
 
+  @AuditableException
+  @ExceptionHandler(InvalidChangeCursorException.class)
+  public ResponseEntity<DetailedErrorResponse<Void>> handleInvalidChangeCursorException(
+      InvalidChangeCursorException exception) {
+    log.error("Change feed cursor is not valid", exception);
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .body(newDetailedResponse(ResponseCode.CLIENT_ERROR));
+  }
+
+  @AuditableException
+  @ExceptionHandler(InvalidAggregationException.class)
+  public ResponseEntity<DetailedErrorResponse<Void>> handleInvalidAggregationException(
+      InvalidAggregationException exception) {
+    log.error("Aggregation request is not valid", exception);
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .body(newDetailedResponse(ResponseCode.CLIENT_ERROR));
+  }
+
+  @AuditableException
+  @ExceptionHandler(InvalidCompositeReadRequestException.class)
+  public ResponseEntity<DetailedErrorResponse<Void>> handleInvalidCompositeReadRequestException(
+      InvalidCompositeReadRequestException exception) {
+    log.error("Composite read request is not valid", exception);
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .body(newDetailedResponse(ResponseCode.CLIENT_ERROR));
+  }
+
+  @AuditableException
+  @ExceptionHandler(InvalidPatchException.class)
+  public ResponseEntity<DetailedErrorResponse<Void>> handleInvalidPatchException(
+      InvalidPatchException exception) {
+    log.error("Patch document is not valid", exception);
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .body(newDetailedResponse(ResponseCode.CLIENT_ERROR));
+  }
+
+  @AuditableException
+  @ExceptionHandler(IdempotencyKeyReusedException.class)
+  public ResponseEntity<DetailedErrorResponse<Void>> handleIdempotencyKeyReusedException(
+      IdempotencyKeyReusedException exception) {
+    log.error("Idempotency key reused with a different payload", exception);
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body(newDetailedResponse(ResponseCode.IDEMPOTENCY_KEY_REUSED));
+  }
+
   @ExceptionHandler(MethodArgumentTypeMismatchException.class)
   public ResponseEntity<DetailedErrorResponse<Void>> handleMethodArgumentTypeMismatchException(
       Exception exception) {
@@ -22,12 +22,15 @@ import static com.epam.digital.data.platform.restapi.core.utils.Header.X_DIGITAL
 import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
 import com.epam.digital.data.platform.restapi.core.config.WebConfigProperties;
 import com.epam.digital.data.platform.restapi.core.service.DigitalSignatureService;
+import com.epam.digital.data.platform.restapi.core.service.LowcodeSignatures;
+import com.epam.digital.data.platform.restapi.core.service.WriteStageTimer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -36,6 +39,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.RegExUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -51,6 +55,9 @@ public class DigitalSignatureValidationFilter extends AbstractFilter {
   private final ObjectMapper mapper;
   private final boolean isEnabled;
 
+  @Autowired(required = false)
+  private WriteStageTimer writeStageTimer;
+
   public DigitalSignatureValidationFilter(
       WebConfigProperties webConfigProperties,
       DigitalSignatureService digitalSignatureService,
@@ -82,8 +89,11 @@ public class DigitalSignatureValidationFilter extends AbstractFilter {
           data = request.getReader().lines().collect(Collectors.joining(System.lineSeparator()));
         }
 
-        digitalSignatureService.checkSignature(data, securityContext);
-        saveSignatures(securityContext);
+        var signatures = timed(WriteStageTimer.SIGNATURE_READ,
+            () -> digitalSignatureService.readSignatures(securityContext));
+        timed(WriteStageTimer.SIGNATURE_VERIFICATION,
+            () -> digitalSignatureService.checkSignature(data, securityContext, signatures));
+        timed(WriteStageTimer.SIGNATURE_COPY, () -> saveSignatures(securityContext, signatures));
       }
     }
 
@@ -91,11 +101,26 @@ public class DigitalSignatureValidationFilter extends AbstractFilter {
     filterChain.doFilter(request, servletResponse);
   }
 
-  private SecurityContext saveSignatures(SecurityContext sc) {
-    String signature = digitalSignatureService.copySignature(sc.getDigitalSignature());
+  private <T> T timed(String stage, Supplier<T> action) {
+    if (writeStageTimer == null) {
+      return action.get();
+    }
+    return writeStageTimer.record(WriteStageTimer.NO_TOPIC, stage, action);
+  }
+
+  private void timed(String stage, Runnable action) {
+    timed(stage, () -> {
+      action.run();
+      return null;
+    });
+  }
+
+  private SecurityContext saveSignatures(SecurityContext sc, LowcodeSignatures signatures) {
+    String signature = digitalSignatureService.copySignature(sc.getDigitalSignature(), signatures);
     sc.setDigitalSignatureChecksum(DigestUtils.sha256Hex(signature));
 
-    String signatureDerived = digitalSignatureService.copySignature(sc.getDigitalSignatureDerived());
+    String signatureDerived =
+        digitalSignatureService.copySignature(sc.getDigitalSignatureDerived(), signatures);
     sc.setDigitalSignatureDerivedChecksum(DigestUtils.sha256Hex(signatureDerived));
 
     return sc;
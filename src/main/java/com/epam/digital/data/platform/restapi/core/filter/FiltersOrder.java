@@ -18,6 +18,7 @@ package com.epam.digital.data.platform.restapi.core.filter;
 
 public class FiltersOrder {
 
+  public static final int REQUEST_DEADLINE_FILTER = -1;
   public static final int LOGBOOK_FILTER = 0;
   public static final int FILTER_CHAIN_EXCEPTION_HANDLER = LOGBOOK_FILTER + 1;
   public static final int HEADER_VALIDATION_FILTER = FILTER_CHAIN_EXCEPTION_HANDLER + 1;
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.filter;
+
+import com.epam.digital.data.platform.restapi.core.jooq.QueryDeadline;
+import java.io.IOException;
+import java.time.Duration;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+@Component
+@Order(FiltersOrder.REQUEST_DEADLINE_FILTER)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+  private final Duration requestTimeout;
+
+  public RequestDeadlineFilter(
+      @Value("${data-platform.db.request-timeout:0s}") Duration requestTimeout) {
+    this.requestTimeout = requestTimeout;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    if (requestTimeout.isZero() || requestTimeout.isNegative()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    QueryDeadline.set(System.nanoTime() + requestTimeout.toNanos());
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      QueryDeadline.clear();
+    }
+  }
+}
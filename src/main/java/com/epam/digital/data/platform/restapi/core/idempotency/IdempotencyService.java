@@ -0,0 +1,205 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.idempotency;
+
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.epam.digital.data.platform.restapi.core.exception.IdempotencyKeyReusedException;
+import com.epam.digital.data.platform.restapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.restapi.core.utils.Header;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Deduplicates retried requests carrying the same {@code Idempotency-Key} header: the first one
+ * is executed and its reply cached, concurrent retries wait for it, later ones reuse the cached
+ * reply. Reusing a key with a different payload is rejected.
+ *
+ * <p>Keys are scoped by the request topic and the JWT subject of the caller, so one caller can
+ * neither read nor block the replies of another by guessing its key. Requests without an access
+ * token are not deduplicated.
+ */
+@Component
+public class IdempotencyService {
+
+  static final String PAYLOAD_HASH = "payloadHash";
+  static final String RESPONSE = "response";
+
+  private final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+  private final Map<String, InFlightRequest> inFlightRequests = new ConcurrentHashMap<>();
+
+  private final ReplyCache replyCache;
+  private final ObjectMapper objectMapper;
+  private final JwtInfoProvider jwtInfoProvider;
+  private final boolean enabled;
+
+  public IdempotencyService(
+      @Qualifier("idempotencyReplyCache") ReplyCache replyCache,
+      ObjectMapper objectMapper,
+      JwtInfoProvider jwtInfoProvider,
+      @Value("${data-platform.idempotency.enabled:false}") boolean enabled) {
+    this.replyCache = replyCache;
+    this.objectMapper = objectMapper;
+    this.jwtInfoProvider = jwtInfoProvider;
+    this.enabled = enabled;
+  }
+
+  public Optional<String> getIdempotencyKey() {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    var attributes = RequestContextHolder.getRequestAttributes();
+    if (!(attributes instanceof ServletRequestAttributes)) {
+      return Optional.empty();
+    }
+    var key = ((ServletRequestAttributes) attributes).getRequest()
+        .getHeader(Header.IDEMPOTENCY_KEY.getHeaderName());
+    return Optional.ofNullable(key).filter(StringUtils::isNotBlank);
+  }
+
+  public <O> Response<O> execute(
+      String topic, String idempotencyKey, Request<?> input, TypeReference<Response<O>> type,
+      Supplier<Response<O>> request) {
+    var caller = callerOf(input);
+    if (caller.isEmpty()) {
+      log.debug("Request without caller identity is not deduplicated");
+      return request.get();
+    }
+    return execute(
+        topic + ":" + caller.get() + ":" + idempotencyKey, input.getPayload(), type, request);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <O> Response<O> execute(
+      String key, Object payload, TypeReference<Response<O>> type,
+      Supplier<Response<O>> request) {
+    var payloadHash = hash(payload);
+
+    var cachedReply = replyCache.get(key);
+    if (cachedReply.isPresent()) {
+      log.info("Reusing cached reply for idempotency key");
+      return fromCachedReply(cachedReply.get(), payloadHash, type);
+    }
+
+    var current = new InFlightRequest(payloadHash);
+    var inFlight = inFlightRequests.putIfAbsent(key, current);
+    if (inFlight != null) {
+      checkPayloadHash(inFlight.payloadHash, payloadHash);
+      log.info("Waiting for in-flight request with the same idempotency key");
+      return (Response<O>) join(inFlight.reply);
+    }
+
+    try {
+      // a request with the same key may have completed between the cache lookup and registration
+      cachedReply = replyCache.get(key);
+      Response<O> response = cachedReply.isPresent()
+          ? fromCachedReply(cachedReply.get(), payloadHash, type)
+          : executeAndCache(key, payloadHash, request);
+      current.reply.complete(response);
+      return response;
+    } catch (RuntimeException e) {
+      current.reply.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlightRequests.remove(key);
+    }
+  }
+
+  private Optional<String> callerOf(Request<?> input) {
+    var securityContext = input.getSecurityContext();
+    if (securityContext == null || StringUtils.isBlank(securityContext.getAccessToken())) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(jwtInfoProvider.getUserClaims(input).getSubject())
+        .filter(StringUtils::isNotBlank);
+  }
+
+  private <O> Response<O> executeAndCache(
+      String key, String payloadHash, Supplier<Response<O>> request) {
+    var response = request.get();
+    var cachedReply = objectMapper.createObjectNode();
+    cachedReply.put(PAYLOAD_HASH, payloadHash);
+    cachedReply.set(RESPONSE, objectMapper.valueToTree(response));
+    replyCache.put(key, cachedReply.toString());
+    return response;
+  }
+
+  private <O> Response<O> fromCachedReply(
+      String cachedReply, String payloadHash, TypeReference<Response<O>> type) {
+    try {
+      var node = objectMapper.readTree(cachedReply);
+      checkPayloadHash(node.get(PAYLOAD_HASH).asText(), payloadHash);
+      return objectMapper.convertValue(node.get(RESPONSE), type);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
+  private void checkPayloadHash(String expected, String actual) {
+    if (!expected.equals(actual)) {
+      throw new IdempotencyKeyReusedException(
+          "Idempotency key was already used for a request with a different payload");
+    }
+  }
+
+  private String hash(Object payload) {
+    try {
+      return DigestUtils.sha256Hex(objectMapper.writeValueAsBytes(payload));
+    } catch (JsonProcessingException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
+  private Response<?> join(CompletableFuture<Response<?>> reply) {
+    try {
+      return reply.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static final class InFlightRequest {
+
+    private final String payloadHash;
+    private final CompletableFuture<Response<?>> reply = new CompletableFuture<>();
+
+    private InFlightRequest(String payloadHash) {
+      this.payloadHash = payloadHash;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class InMemoryReplyCache implements ReplyCache {
+
+  private final Map<String, Entry> entries;
+  private final Duration ttl;
+  private final Clock clock;
+
+  public InMemoryReplyCache(int maxSize, Duration ttl, Clock clock) {
+    this.ttl = ttl;
+    this.clock = clock;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  @Override
+  public synchronized Optional<String> get(String key) {
+    var entry = entries.get(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (entry.expiresAt < clock.millis()) {
+      entries.remove(key);
+      return Optional.empty();
+    }
+    return Optional.of(entry.value);
+  }
+
+  @Override
+  public synchronized void put(String key, String value) {
+    entries.put(key, new Entry(value, clock.millis() + ttl.toMillis()));
+  }
+
+  private static final class Entry {
+
+    private final String value;
+    private final long expiresAt;
+
+    private Entry(String value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+public class RedisReplyCache implements ReplyCache {
+
+  static final String KEY_PREFIX = "idempotency:";
+
+  private final StringRedisTemplate redisTemplate;
+  private final Duration ttl;
+  private final String keyPrefix;
+
+  public RedisReplyCache(StringRedisTemplate redisTemplate, Duration ttl) {
+    this(redisTemplate, ttl, KEY_PREFIX);
+  }
+
+  public RedisReplyCache(StringRedisTemplate redisTemplate, Duration ttl, String keyPrefix) {
+    this.redisTemplate = redisTemplate;
+    this.ttl = ttl;
+    this.keyPrefix = keyPrefix;
+  }
+
+  @Override
+  public Optional<String> get(String key) {
+    return Optional.ofNullable(redisTemplate.opsForValue().get(keyPrefix + key));
+  }
+
+  @Override
+  public void put(String key, String value) {
+    redisTemplate.opsForValue().set(keyPrefix + key, value, ttl);
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.jooq;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import org.jooq.DSLContext;
+import org.jooq.Select;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports how many partitions PostgreSQL pruned for a search query in the
+ * {@code data_platform_db_pruned_partitions} summary.
+ *
+ * <p>A reported search costs an additional {@code EXPLAIN} (one more round trip and a second
+ * planning of the query) and a {@code pg_inherits} lookup, so the reporter is only active when
+ * debug logging is enabled for this class, and even then only for a sample of searches set by
+ * {@code data-platform.db.partition-pruning-report.sample-rate} (0.01 by default).
+ */
+@Component
+public class PartitionPruningReporter {
+
+  static final String METRIC = "data_platform_db_pruned_partitions";
+  private static final String RELATION_NAME = "Relation Name";
+
+  private final Logger log = LoggerFactory.getLogger(PartitionPruningReporter.class);
+
+  private final DSLContext context;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final double sampleRate;
+
+  public PartitionPruningReporter(
+      DSLContext context, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+      @Value("${data-platform.db.partition-pruning-report.sample-rate:0.01}") double sampleRate) {
+    this.context = context;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+    this.sampleRate = sampleRate;
+  }
+
+  public boolean isEnabled() {
+    return log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate;
+  }
+
+  public void report(String partitionedTable, Select<?> query) {
+    try {
+      var plan = String.valueOf(context.fetch("explain (format json) {0}", query).get(0).get(0));
+      var scanned = new HashSet<String>();
+      collectRelations(objectMapper.readTree(plan), scanned);
+      int total = context.fetchCount(
+          DSL.table("pg_inherits"),
+          DSL.condition("inhparent = cast({0} as regclass)", DSL.val(partitionedTable)));
+      int pruned = Math.max(total - scanned.size(), 0);
+
+      meterRegistry.summary(METRIC, "table", partitionedTable)
+          .record(pruned);
+      log.debug("Search on {} scans {} of {} partitions", partitionedTable, scanned.size(), total);
+    } catch (Exception e) {
+      log.debug("Can not report partition pruning for {}", partitionedTable, e);
+    }
+  }
+
+  private void collectRelations(JsonNode node, Set<String> relations) {
+    if (node.has(RELATION_NAME)) {
+      relations.add(node.get(RELATION_NAME).asText());
+    }
+    node.elements().forEachRemaining(child -> collectRelations(child, relations));
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.jooq;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.jooq.ExecuteContext;
+import org.jooq.impl.DefaultExecuteListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Cancels a running statement via {@link java.sql.Statement#cancel()} once the deadline of the
+ * request it was issued for has passed, so the query stops and its connection goes back to the
+ * pool instead of working for a client that has already given up.
+ */
+public class QueryCancellationListener extends DefaultExecuteListener {
+
+  static final String CANCELLATION_KEY = "ddm.query.cancellation";
+
+  private final Logger log = LoggerFactory.getLogger(QueryCancellationListener.class);
+
+  private final ThreadPoolTaskScheduler scheduler;
+  private final Counter cancelledQueries;
+
+  public QueryCancellationListener(ThreadPoolTaskScheduler scheduler, MeterRegistry meterRegistry) {
+    this.scheduler = scheduler;
+    this.cancelledQueries = Counter.builder("data_platform_db_cancelled_queries")
+        .description("Queries cancelled because the client request deadline has passed")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void executeStart(ExecuteContext ctx) {
+    Long deadline = QueryDeadline.get();
+    Statement statement = ctx.statement();
+    if (deadline == null || statement == null) {
+      return;
+    }
+    long delay = Math.max(deadline - System.nanoTime(), 0);
+    ScheduledFuture<?> cancellation = scheduler.getScheduledExecutor()
+        .schedule(() -> cancel(statement), delay, TimeUnit.NANOSECONDS);
+    ctx.data(CANCELLATION_KEY, cancellation);
+  }
+
+  @Override
+  public void executeEnd(ExecuteContext ctx) {
+    stopCancellation(ctx);
+  }
+
+  @Override
+  public void exception(ExecuteContext ctx) {
+    stopCancellation(ctx);
+  }
+
+  private void cancel(Statement statement) {
+    try {
+      log.warn("Request deadline passed, cancelling running query");
+      statement.cancel();
+      cancelledQueries.increment();
+    } catch (SQLException e) {
+      log.error("Can not cancel running query", e);
+    }
+  }
+
+  private void stopCancellation(ExecuteContext ctx) {
+    var cancellation = (ScheduledFuture<?>) ctx.data(CANCELLATION_KEY);
+    if (cancellation != null) {
+      cancellation.cancel(false);
+      ctx.data(CANCELLATION_KEY, null);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.jooq;
+
+/**
+ * Holds the moment (in {@link System#nanoTime()} terms) after which the client of the current
+ * request is considered gone, so database work done on its behalf can be cancelled.
+ */
+public final class QueryDeadline {
+
+  private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+  private QueryDeadline() {}
+
+  public static void set(long deadlineNanos) {
+    DEADLINE.set(deadlineNanos);
+  }
+
+  public static Long get() {
+    return DEADLINE.get();
+  }
+
+  public static void clear() {
+    DEADLINE.remove();
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.avro.SchemaNormalization;
+
+/**
+ * Avro binary encoding with schemas generated from the DTO types. Both sides derive the schema
+ * from the same DTO classes, so only the encoded record is sent, along with the 64-bit parsing
+ * fingerprint of its schema; instances on different DTO versions have to fall back to JSON.
+ */
+public class AvroPayloadCodec implements PayloadCodec {
+
+  public static final String NAME = "avro";
+
+  private final AvroMapper avroMapper;
+  private final Map<JavaType, AvroSchema> schemas = new ConcurrentHashMap<>();
+
+  public AvroPayloadCodec() {
+    this.avroMapper = new AvroMapper();
+    avroMapper.registerModule(new JavaTimeModule());
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public String getContentType() {
+    return "avro/binary";
+  }
+
+  @Override
+  public byte[] encode(Object value, JavaType type) {
+    try {
+      ObjectWriter writer = avroMapper.writerFor(type).with(schemaFor(type));
+      return writer.writeValueAsBytes(value);
+    } catch (IOException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
+  @Override
+  public <T> T decode(byte[] content, JavaType type) {
+    try {
+      ObjectReader reader = avroMapper.readerFor(type).with(schemaFor(type));
+      return reader.readValue(content);
+    } catch (IOException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
+  @Override
+  public Optional<String> schemaFingerprint(JavaType type) {
+    var fingerprint = SchemaNormalization.parsingFingerprint64(schemaFor(type).getAvroSchema());
+    return Optional.of(Long.toHexString(fingerprint));
+  }
+
+  AvroSchema schemaFor(JavaType type) {
+    return schemas.computeIfAbsent(type, key -> {
+      try {
+        return avroMapper.schemaFor(key);
+      } catch (IOException e) {
+        throw new RuntimeJsonMappingException(
+            "Cannot generate Avro schema for " + key + ": " + e.getMessage());
+      }
+    });
+  }
+}
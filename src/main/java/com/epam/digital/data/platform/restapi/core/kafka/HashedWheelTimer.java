@@ -0,0 +1,237 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Timer for large numbers of short timeouts that are usually cancelled before they expire.
+ * Scheduling and cancelling are O(1) and allocation free apart from the timeout itself;
+ * expiration is accurate to one {@code tick}. Tasks run on the timer thread and must be short.
+ * Cancelled timeouts release their task at once and leave their bucket on the next tick, so
+ * whatever the task captured does not outlive the cancellation by more than a tick.
+ */
+public class HashedWheelTimer {
+
+  private final Logger log = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+  private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingTimeouts = new AtomicInteger();
+  private final long startTime;
+  private final Thread worker;
+  private volatile boolean running = true;
+
+  public HashedWheelTimer(String threadName, Duration tick, int wheelSize) {
+    if (tick.isNegative() || tick.isZero() || wheelSize < 1) {
+      throw new IllegalArgumentException("Invalid wheel: tick " + tick + ", size " + wheelSize);
+    }
+    var size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+    this.tickNanos = tick.toNanos();
+    this.wheel = new Bucket[size];
+    for (int i = 0; i < size; i++) {
+      wheel[i] = new Bucket();
+    }
+    this.mask = size - 1;
+    this.startTime = System.nanoTime();
+    this.worker = new Thread(this::run, threadName);
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  public Timeout newTimeout(Runnable task, Duration delay) {
+    var timeout = new Timeout(task, System.nanoTime() + delay.toNanos() - startTime);
+    pendingTimeouts.incrementAndGet();
+    scheduled.add(timeout);
+    return timeout;
+  }
+
+  public void stop() {
+    running = false;
+    worker.interrupt();
+  }
+
+  /**
+   * Number of timeouts held by the timer, including cancelled ones not yet removed.
+   */
+  int pendingTimeouts() {
+    return pendingTimeouts.get();
+  }
+
+  private void run() {
+    long tick = 0;
+    while (running) {
+      if (!awaitTick(tick)) {
+        return;
+      }
+      transferScheduled(tick);
+      removeCancelled();
+      expire(wheel[(int) (tick & mask)], tick);
+      tick++;
+    }
+  }
+
+  private boolean awaitTick(long tick) {
+    var deadline = tickNanos * (tick + 1);
+    while (true) {
+      var sleepNanos = deadline - (System.nanoTime() - startTime);
+      if (sleepNanos <= 0) {
+        return true;
+      }
+      try {
+        TimeUnit.NANOSECONDS.sleep(sleepNanos);
+      } catch (InterruptedException e) {
+        if (!running) {
+          return false;
+        }
+      }
+    }
+  }
+
+  private void transferScheduled(long tick) {
+    Timeout timeout;
+    while ((timeout = scheduled.poll()) != null) {
+      if (timeout.isCancelled()) {
+        pendingTimeouts.decrementAndGet();
+        continue;
+      }
+      var expirationTick = Math.max(timeout.deadline / tickNanos, tick);
+      timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+      wheel[(int) (expirationTick & mask)].add(timeout);
+    }
+  }
+
+  private void removeCancelled() {
+    Timeout timeout;
+    while ((timeout = cancelled.poll()) != null) {
+      // timeouts cancelled before they were transferred were never added to a bucket
+      if (timeout.bucket != null) {
+        timeout.bucket.remove(timeout);
+        pendingTimeouts.decrementAndGet();
+      }
+    }
+  }
+
+  private void expire(Bucket bucket, long tick) {
+    var now = tickNanos * (tick + 1);
+    var timeout = bucket.head;
+    while (timeout != null) {
+      var next = timeout.next;
+      if (timeout.remainingRounds <= 0 && timeout.deadline <= now) {
+        bucket.remove(timeout);
+        pendingTimeouts.decrementAndGet();
+        timeout.expire();
+      } else {
+        timeout.remainingRounds--;
+      }
+      timeout = next;
+    }
+  }
+
+  /**
+   * Doubly linked list of the timeouts of one wheel slot, only accessed by the timer thread.
+   */
+  private static final class Bucket {
+
+    private Timeout head;
+    private Timeout tail;
+
+    private void add(Timeout timeout) {
+      timeout.bucket = this;
+      if (head == null) {
+        head = tail = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.prev = tail;
+        tail = timeout;
+      }
+    }
+
+    private void remove(Timeout timeout) {
+      if (timeout.prev == null) {
+        head = timeout.next;
+      } else {
+        timeout.prev.next = timeout.next;
+      }
+      if (timeout.next == null) {
+        tail = timeout.prev;
+      } else {
+        timeout.next.prev = timeout.prev;
+      }
+      timeout.prev = null;
+      timeout.next = null;
+      timeout.bucket = null;
+    }
+  }
+
+  public final class Timeout {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long deadline;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private volatile Runnable task;
+    private long remainingRounds;
+    private Bucket bucket;
+    private Timeout prev;
+    private Timeout next;
+
+    private Timeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancels the timeout, returns {@code false} if it has already expired.
+     */
+    public boolean cancel() {
+      if (!state.compareAndSet(PENDING, CANCELLED)) {
+        return false;
+      }
+      task = null;
+      cancelled.add(this);
+      return true;
+    }
+
+    public boolean isCancelled() {
+      return state.get() == CANCELLED;
+    }
+
+    private void expire() {
+      if (state.compareAndSet(PENDING, EXPIRED)) {
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          log.warn("Timeout task failed", e);
+        } finally {
+          task = null;
+        }
+      }
+    }
+  }
+}
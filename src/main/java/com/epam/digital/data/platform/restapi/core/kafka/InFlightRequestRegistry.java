@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import com.epam.digital.data.platform.restapi.core.exception.KafkaRequestRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits the number of Kafka requests waiting for a reply, globally and per request topic. A
+ * request that cannot be admitted within {@code max-wait} is rejected instead of holding a
+ * thread and its payload until the reply timeout. Enabled with
+ * {@code data-platform.kafka-request.in-flight.enabled}.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "data-platform.kafka-request.in-flight", name = "enabled", havingValue = "true")
+public class InFlightRequestRegistry {
+
+  static final String IN_FLIGHT_METRIC = "data_platform_kafka_requests_in_flight";
+  static final String ADMISSION_WAIT_METRIC = "data_platform_kafka_request_admission_wait";
+  static final String REJECTED_METRIC = "data_platform_kafka_requests_rejected";
+
+  private final Semaphore global;
+  private final Map<String, Semaphore> perTopic = new ConcurrentHashMap<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final int maxInFlightPerTopic;
+  private final long maxWaitNanos;
+  private final MeterRegistry meterRegistry;
+  private final Timer admissionWait;
+
+  public InFlightRequestRegistry(
+      @Value("${data-platform.kafka-request.in-flight.max:500}") int maxInFlight,
+      @Value("${data-platform.kafka-request.in-flight.max-per-topic:200}") int maxInFlightPerTopic,
+      @Value("${data-platform.kafka-request.in-flight.max-wait:PT0S}") Duration maxWait,
+      MeterRegistry meterRegistry) {
+    this.global = new Semaphore(maxInFlight);
+    this.maxInFlightPerTopic = maxInFlightPerTopic;
+    this.maxWaitNanos = maxWait.toNanos();
+    this.meterRegistry = meterRegistry;
+    this.admissionWait = meterRegistry.timer(ADMISSION_WAIT_METRIC);
+    meterRegistry.gauge(IN_FLIGHT_METRIC, inFlight);
+  }
+
+  /**
+   * Admits a request to the topic. The returned permit must be closed once the reply is received
+   * or the request failed.
+   */
+  public Permit acquire(String topic) {
+    var topicLimit = perTopic.computeIfAbsent(topic, key -> new Semaphore(maxInFlightPerTopic));
+    var start = System.nanoTime();
+    try {
+      if (!tryAcquire(topicLimit, maxWaitNanos)) {
+        throw rejected(topic, "topic");
+      }
+      if (!tryAcquire(global, maxWaitNanos - (System.nanoTime() - start))) {
+        topicLimit.release();
+        throw rejected(topic, "global");
+      }
+    } finally {
+      admissionWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+    inFlight.incrementAndGet();
+    return new Permit(topicLimit);
+  }
+
+  int getInFlight() {
+    return inFlight.get();
+  }
+
+  private boolean tryAcquire(Semaphore semaphore, long timeoutNanos) {
+    if (timeoutNanos <= 0) {
+      return semaphore.tryAcquire();
+    }
+    try {
+      return semaphore.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private KafkaRequestRejectedException rejected(String topic, String limit) {
+    meterRegistry.counter(REJECTED_METRIC, "topic", topic, "limit", limit).increment();
+    return new KafkaRequestRejectedException(
+        "Too many in-flight requests to topic " + topic + ", " + limit + " limit reached");
+  }
+
+  public class Permit implements AutoCloseable {
+
+    private final Semaphore topicLimit;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(Semaphore topicLimit) {
+      this.topicLimit = topicLimit;
+    }
+
+    @Override
+    public void close() {
+      if (released.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+        global.release();
+        topicLimit.release();
+      }
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import java.io.IOException;
+
+public class JsonPayloadCodec implements PayloadCodec {
+
+  public static final String NAME = "json";
+
+  private final ObjectMapper objectMapper;
+
+  public JsonPayloadCodec(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public String getContentType() {
+    return "application/json";
+  }
+
+  @Override
+  public byte[] encode(Object value, JavaType type) {
+    try {
+      return objectMapper.writerFor(type).writeValueAsBytes(value);
+    } catch (IOException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
+  @Override
+  public <T> T decode(byte[] content, JavaType type) {
+    try {
+      return objectMapper.readerFor(type).readValue(content);
+    } catch (IOException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+}
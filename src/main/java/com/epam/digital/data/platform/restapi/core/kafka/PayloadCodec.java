@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import com.fasterxml.jackson.databind.JavaType;
+import java.util.Optional;
+
+/**
+ * Wire format of Kafka request and reply values. The codec of a record is named in the
+ * {@link #HEADER} header; records without it are JSON. Codecs whose encoding depends on a schema
+ * also put its fingerprint in the {@link #SCHEMA_HEADER} header, so that a peer on a different
+ * schema rejects the record instead of misreading it.
+ *
+ * <p>The digital seal of a JSON record is computed over the record value as UTF-8 text. For a
+ * record in any other codec it is computed over the base64 encoding of the record value, so
+ * kafka-api verifies the seal against {@code Base64(value)} whenever {@link #HEADER} is present
+ * and is not {@code json}.
+ */
+public interface PayloadCodec {
+
+  String HEADER = "content-codec";
+  String SCHEMA_HEADER = "content-schema";
+
+  String getName();
+
+  String getContentType();
+
+  byte[] encode(Object value, JavaType type);
+
+  <T> T decode(byte[] content, JavaType type);
+
+  /**
+   * Fingerprint of the schema values of the type are encoded with; empty for self-describing
+   * formats.
+   */
+  default Optional<String> schemaFingerprint(JavaType type) {
+    return Optional.empty();
+  }
+}
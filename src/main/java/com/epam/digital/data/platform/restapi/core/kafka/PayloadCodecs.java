@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Codecs known to this instance. Requests are written with the one configured in
+ * {@code data-platform.kafka-request.codec}; replies are read with the one named in their
+ * {@link PayloadCodec#HEADER} header, so JSON and binary peers can be mixed during a rollout.
+ */
+@Component
+public class PayloadCodecs {
+
+  private final Map<String, PayloadCodec> codecs;
+  private final PayloadCodec writer;
+
+  public PayloadCodecs(
+      ObjectMapper objectMapper,
+      @Value("${data-platform.kafka-request.codec:json}") String writerCodec) {
+    this.codecs = Map.of(
+        JsonPayloadCodec.NAME, new JsonPayloadCodec(objectMapper),
+        AvroPayloadCodec.NAME, new AvroPayloadCodec());
+    this.writer = forName(writerCodec).orElseThrow(
+        () -> new IllegalStateException("Unknown Kafka payload codec: " + writerCodec));
+  }
+
+  public PayloadCodec getWriter() {
+    return writer;
+  }
+
+  public boolean isBinaryWriter() {
+    return !JsonPayloadCodec.NAME.equals(writer.getName());
+  }
+
+  public Optional<PayloadCodec> forName(String name) {
+    return Optional.ofNullable(codecs.get(name));
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.requestreply.KafkaReplyTimeoutException;
+import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+
+/**
+ * Request-reply correlation without a scheduled task per request: pending replies are kept in a
+ * table keyed by the correlation id and expired by a {@link HashedWheelTimer}. The engine is the
+ * batch listener of the reply container; each polled batch is matched on a dispatch executor, so
+ * reply callbacks never run on the consumer thread.
+ *
+ * <p>Late and duplicate replies are discarded the same way {@code ReplyingKafkaTemplate} does;
+ * a request without a reply in time fails with {@link KafkaReplyTimeoutException}.
+ *
+ * <p>The engine only uses the template to send. A {@link ReplyingKafkaTemplate} passed in must
+ * not consume replies itself: it has to be created with {@code autoStartup} disabled, so that
+ * its own reply container is never started and does not compete with the engine's container for
+ * the reply partitions. See {@link #verifySender(KafkaOperations)}.
+ */
+public class ReplyCorrelationEngine implements BatchMessageListener<String, Object> {
+
+  private final Logger log = LoggerFactory.getLogger(ReplyCorrelationEngine.class);
+
+  private final Map<CorrelationKey, PendingReply> pendingReplies = new ConcurrentHashMap<>();
+  private final HashedWheelTimer timer;
+  private final Executor dispatchExecutor;
+  private final boolean sharedReplyTopic;
+
+  public ReplyCorrelationEngine(
+      HashedWheelTimer timer, Executor dispatchExecutor, boolean sharedReplyTopic) {
+    this.timer = timer;
+    this.dispatchExecutor = dispatchExecutor;
+    this.sharedReplyTopic = sharedReplyTopic;
+  }
+
+  /**
+   * Fails when the template would start its own reply container alongside the engine's.
+   */
+  public void verifySender(KafkaOperations<?, ?> template) {
+    if (template instanceof ReplyingKafkaTemplate
+        && ((ReplyingKafkaTemplate<?, ?, ?>) template).isAutoStartup()) {
+      throw new IllegalStateException(
+          "ReplyingKafkaTemplate used with the reply correlation engine must not start its reply "
+              + "container, set autoStartup to false");
+    }
+  }
+
+  public <V> CompletableFuture<ConsumerRecord<String, ?>> sendAndReceive(
+      KafkaOperations<String, V> template, ProducerRecord<String, V> record, Duration timeout) {
+    var correlationId = UUID.randomUUID();
+    var key = new CorrelationKey(
+        correlationId.getMostSignificantBits(), correlationId.getLeastSignificantBits());
+    record.headers().add(KafkaHeaders.CORRELATION_ID, key.toBytes());
+
+    var pending = new PendingReply();
+    pendingReplies.put(key, pending);
+    pending.timeout = timer.newTimeout(() -> {
+      if (pendingReplies.remove(key, pending)) {
+        pending.future.completeExceptionally(
+            new KafkaReplyTimeoutException("Reply timed out for correlation id " + correlationId));
+      }
+    }, timeout);
+
+    try {
+      template.send(record).addCallback(result -> { }, e -> fail(key, pending, e));
+    } catch (RuntimeException e) {
+      fail(key, pending, e);
+    }
+    return pending.future;
+  }
+
+  @Override
+  public void onMessage(List<ConsumerRecord<String, Object>> records) {
+    dispatchExecutor.execute(() -> records.forEach(this::dispatch));
+  }
+
+  int getPendingCount() {
+    return pendingReplies.size();
+  }
+
+  private void dispatch(ConsumerRecord<String, Object> record) {
+    var key = CorrelationKey.of(record.headers().lastHeader(KafkaHeaders.CORRELATION_ID));
+    var pending = key == null ? null : pendingReplies.remove(key);
+    if (pending == null) {
+      if (sharedReplyTopic) {
+        log.debug("No pending reply for correlation id {}, perhaps timed out", key);
+      } else {
+        log.error("No pending reply for correlation id {}, perhaps timed out", key);
+      }
+      return;
+    }
+    pending.timeout.cancel();
+    pending.future.complete(record);
+  }
+
+  private void fail(CorrelationKey key, PendingReply pending, Throwable e) {
+    if (pendingReplies.remove(key, pending)) {
+      pending.timeout.cancel();
+      pending.future.completeExceptionally(new KafkaException("Send failed", e));
+    }
+  }
+
+  private static final class PendingReply {
+
+    private final CompletableFuture<ConsumerRecord<String, ?>> future = new CompletableFuture<>();
+    private volatile HashedWheelTimer.Timeout timeout;
+  }
+
+  private static final class CorrelationKey {
+
+    private final long mostSigBits;
+    private final long leastSigBits;
+
+    private CorrelationKey(long mostSigBits, long leastSigBits) {
+      this.mostSigBits = mostSigBits;
+      this.leastSigBits = leastSigBits;
+    }
+
+    private static CorrelationKey of(Header header) {
+      if (header == null || header.value() == null || header.value().length != 16) {
+        return null;
+      }
+      var buffer = ByteBuffer.wrap(header.value());
+      return new CorrelationKey(buffer.getLong(), buffer.getLong());
+    }
+
+    private byte[] toBytes() {
+      return ByteBuffer.allocate(16).putLong(mostSigBits).putLong(leastSigBits).array();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CorrelationKey)) {
+        return false;
+      }
+      var that = (CorrelationKey) o;
+      return mostSigBits == that.mostSigBits && leastSigBits == that.leastSigBits;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(mostSigBits ^ leastSigBits);
+    }
+
+    @Override
+    public String toString() {
+      return new UUID(mostSigBits, leastSigBits).toString();
+    }
+  }
+}
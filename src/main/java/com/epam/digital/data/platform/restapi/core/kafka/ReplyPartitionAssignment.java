@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.kafka.support.TopicPartitionOffset.SeekPosition;
+
+/**
+ * Reply partitions claimed by this instance. Instance {@code n} owns partitions
+ * {@code [n * partitionsPerInstance, (n + 1) * partitionsPerInstance)} of the reply topic, so a
+ * reply is consumed only by the instance that sent the request and no consumer group rebalance
+ * is involved when instances are added or removed.
+ */
+public class ReplyPartitionAssignment {
+
+  private static final Pattern ORDINAL_SUFFIX = Pattern.compile(".*-(0|[1-9]\\d*)$");
+  // <deployment>-<pod-template-hash>-<random suffix>, both generated from the same alphabet
+  private static final Pattern DEPLOYMENT_POD_NAME = Pattern.compile(
+      ".*-[bcdfghjklmnpqrstvwxz2456789]{6,10}-[bcdfghjklmnpqrstvwxz2456789]{5}$");
+
+  private final List<Integer> partitions;
+  private final AtomicInteger next = new AtomicInteger();
+  private final Set<String> verifiedTopics = ConcurrentHashMap.newKeySet();
+
+  public ReplyPartitionAssignment(int instanceIndex, int partitionsPerInstance) {
+    if (instanceIndex < 0 || partitionsPerInstance < 1) {
+      throw new IllegalStateException(
+          "Invalid reply partition assignment: instance " + instanceIndex + ", "
+              + partitionsPerInstance + " partitions per instance");
+    }
+    var first = instanceIndex * partitionsPerInstance;
+    this.partitions = IntStream.range(first, first + partitionsPerInstance)
+        .boxed()
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  /**
+   * Resolves the instance index from the StatefulSet pod name ordinal, e.g. {@code rest-api-2}.
+   * Deployment pod names such as {@code rest-api-7d9f8b6c5d-24567} are rejected even when their
+   * random suffix happens to be numeric: it is not an ordinal, and two pods could claim the same
+   * partitions.
+   */
+  public static int instanceIndexOf(String hostname) {
+    var name = hostname == null ? "" : hostname;
+    var matcher = ORDINAL_SUFFIX.matcher(name);
+    if (!matcher.matches() || DEPLOYMENT_POD_NAME.matcher(name).matches()) {
+      throw new IllegalStateException(
+          "Cannot resolve reply partition instance index from hostname: " + hostname);
+    }
+    return Integer.parseInt(matcher.group(1));
+  }
+
+  /**
+   * Fails when the reply topic has fewer partitions than this instance claims: replies routed to
+   * a missing partition would never arrive. Each topic is checked once.
+   *
+   * @param partitionCount resolves the number of partitions of a topic
+   */
+  public void verifyReplyTopic(String replyTopic, ToIntFunction<String> partitionCount) {
+    if (verifiedTopics.contains(replyTopic)) {
+      return;
+    }
+    var count = partitionCount.applyAsInt(replyTopic);
+    var last = partitions.get(partitions.size() - 1);
+    if (last >= count) {
+      throw new IllegalStateException(
+          "Reply topic " + replyTopic + " has " + count + " partitions, but this instance claims "
+              + partitions + "; add partitions or lower the instance count");
+    }
+    verifiedTopics.add(replyTopic);
+  }
+
+  public List<Integer> getPartitions() {
+    return partitions;
+  }
+
+  /**
+   * Partitions for the manually assigned reply container. Replies produced before the instance
+   * started belong to requests that are no longer awaited, so consumption starts at the end.
+   */
+  public TopicPartitionOffset[] topicPartitions(String replyTopic) {
+    return partitions.stream()
+        .map(partition -> new TopicPartitionOffset(replyTopic, partition, SeekPosition.END))
+        .toArray(TopicPartitionOffset[]::new);
+  }
+
+  public byte[] nextPartitionHeader() {
+    var partition = partitions.get(Math.floorMod(next.getAndIncrement(), partitions.size()));
+    return ByteBuffer.allocate(Integer.BYTES).putInt(partition).array();
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import com.epam.digital.data.platform.restapi.core.model.SerializedRequest;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import java.util.Map;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Writes the bytes of a {@link SerializedRequest} as is and passes any other value to the
+ * configured serializer. When the configured serializer is a Spring {@link JsonSerializer} that
+ * adds type info, the type headers it would have added for the original request are added to
+ * pre-serialized values as well, so consumers relying on them see no difference.
+ */
+public class SerializedRequestSerializer<T> implements Serializer<T> {
+
+  private final Serializer<T> delegate;
+
+  public SerializedRequestSerializer(Serializer<T> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    delegate.configure(configs, isKey);
+  }
+
+  @Override
+  public byte[] serialize(String topic, T data) {
+    if (data instanceof SerializedRequest) {
+      return ((SerializedRequest<?>) data).getSerialized();
+    }
+    return delegate.serialize(topic, data);
+  }
+
+  @Override
+  public byte[] serialize(String topic, Headers headers, T data) {
+    if (data instanceof SerializedRequest) {
+      var serializedRequest = (SerializedRequest<?>) data;
+      addTypeInfo(headers, serializedRequest.getRequestType());
+      return serializedRequest.getSerialized();
+    }
+    return delegate.serialize(topic, headers, data);
+  }
+
+  private void addTypeInfo(Headers headers, Class<?> requestType) {
+    if (headers != null && delegate instanceof JsonSerializer
+        && ((JsonSerializer<?>) delegate).isAddTypeInfo()) {
+      ((JsonSerializer<?>) delegate).getTypeMapper()
+          .fromJavaType(TypeFactory.defaultInstance().constructType(requestType), headers);
+    }
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
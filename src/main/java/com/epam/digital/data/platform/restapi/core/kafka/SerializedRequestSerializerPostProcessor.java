@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the value serializer of the producer factory behind each {@link ReplyingKafkaTemplate},
+ * which sends the requests, into {@link SerializedRequestSerializer}. Other producer factories
+ * are left as they are.
+ */
+@Component
+public class SerializedRequestSerializerPostProcessor implements BeanPostProcessor {
+
+  private final Set<ProducerFactory<?, ?>> wrappedFactories =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+
+  @Override
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public synchronized Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (!(bean instanceof ReplyingKafkaTemplate)) {
+      return bean;
+    }
+    var factory = ((ReplyingKafkaTemplate<?, ?, ?>) bean).getProducerFactory();
+    if (factory instanceof DefaultKafkaProducerFactory && wrappedFactories.add(factory)) {
+      var producerFactory = (DefaultKafkaProducerFactory) factory;
+      var valueSerializerSupplier = producerFactory.getValueSerializerSupplier();
+      Map<String, Object> configs = producerFactory.getConfigurationProperties();
+      producerFactory.setValueSerializerSupplier(() -> new SerializedRequestSerializer<>(
+          valueSerializer((Serializer<Object>) valueSerializerSupplier.get(), configs)));
+    }
+    return bean;
+  }
+
+  private Serializer<Object> valueSerializer(
+      Serializer<Object> configured, Map<String, Object> configs) {
+    if (configured != null) {
+      return configured;
+    }
+    // serializer set by class name in the producer properties is normally created by the client
+    Object serializerClass = configs.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG);
+    Serializer<Object> serializer = serializerClass instanceof Class
+        ? Utils.newInstance((Class<?>) serializerClass, Serializer.class)
+        : newInstance(String.valueOf(serializerClass));
+    serializer.configure(configs, false);
+    return serializer;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Serializer<Object> newInstance(String className) {
+    try {
+      return Utils.newInstance(className, Serializer.class);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Kafka value serializer not found: " + className, e);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.model;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class AggregationGroup {
+
+  private Map<String, Object> group = new LinkedHashMap<>();
+  private Long count;
+  private Map<String, BigDecimal> sum = new LinkedHashMap<>();
+
+  public Map<String, Object> getGroup() {
+    return group;
+  }
+
+  public void setGroup(Map<String, Object> group) {
+    this.group = group;
+  }
+
+  public Long getCount() {
+    return count;
+  }
+
+  public void setCount(Long count) {
+    this.count = count;
+  }
+
+  public Map<String, BigDecimal> getSum() {
+    return sum;
+  }
+
+  public void setSum(Map<String, BigDecimal> sum) {
+    this.sum = sum;
+  }
+}
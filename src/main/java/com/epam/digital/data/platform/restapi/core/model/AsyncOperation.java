@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class AsyncOperation {
+
+  public enum State {
+    PENDING,
+    COMPLETED
+  }
+
+  private String operationId;
+  private State state;
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private JsonNode response;
+  // JWT subject of the caller that submitted the operation, kept in the store only
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String submitter;
+
+  public AsyncOperation() {
+  }
+
+  public AsyncOperation(String operationId, State state, JsonNode response) {
+    this(operationId, state, response, null);
+  }
+
+  public AsyncOperation(String operationId, State state, JsonNode response, String submitter) {
+    this.operationId = operationId;
+    this.state = state;
+    this.response = response;
+    this.submitter = submitter;
+  }
+
+  public String getOperationId() {
+    return operationId;
+  }
+
+  public void setOperationId(String operationId) {
+    this.operationId = operationId;
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  public void setState(State state) {
+    this.state = state;
+  }
+
+  public JsonNode getResponse() {
+    return response;
+  }
+
+  public void setResponse(JsonNode response) {
+    this.response = response;
+  }
+
+  public String getSubmitter() {
+    return submitter;
+  }
+
+  public void setSubmitter(String submitter) {
+    this.submitter = submitter;
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.model;
+
+/**
+ * Range of partition key values a search can touch: {@code from} inclusive, {@code to}
+ * exclusive. A missing bound leaves that side open.
+ */
+public class PartitionRange {
+
+  private Object from;
+  private Object to;
+
+  public Object getFrom() {
+    return from;
+  }
+
+  public void setFrom(Object from) {
+    this.from = from;
+  }
+
+  public Object getTo() {
+    return to;
+  }
+
+  public void setTo(Object to) {
+    this.to = to;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.model;
+
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+
+/**
+ * Request that carries its own JSON form, so the same bytes can be sealed and sent to Kafka
+ * without serializing the payload twice.
+ */
+public class SerializedRequest<I> extends Request<I> {
+
+  @JsonIgnore
+  private final byte[] serialized;
+  @JsonIgnore
+  private final Class<?> requestType;
+
+  private SerializedRequest(Request<I> request, byte[] serialized) {
+    super(request.getPayload(), request.getRequestContext(), request.getSecurityContext());
+    this.serialized = serialized;
+    this.requestType = request.getClass();
+  }
+
+  public static <I> SerializedRequest<I> of(Request<I> request, ObjectMapper objectMapper) {
+    try {
+      return new SerializedRequest<>(request, objectMapper.writeValueAsBytes(request));
+    } catch (JsonProcessingException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
+  public static <I> SerializedRequest<I> of(Request<I> request, byte[] serialized) {
+    return new SerializedRequest<>(request, serialized);
+  }
+
+  @JsonIgnore
+  public byte[] getSerialized() {
+    return serialized;
+  }
+
+  /**
+   * Class of the request these bytes were written from, for serializers that record the value
+   * type in record headers.
+   */
+  @JsonIgnore
+  public Class<?> getRequestType() {
+    return requestType;
+  }
+}
@@ -25,7 +25,11 @@ import com.epam.digital.data.platform.restapi.core.model.FieldsAccessCheckDto;
 import com.epam.digital.data.platform.restapi.core.service.AccessPermissionService;
 import com.epam.digital.data.platform.restapi.core.service.JwtInfoProvider;
 import com.epam.digital.data.platform.restapi.core.tabledata.TableDataProvider;
+import com.epam.digital.data.platform.restapi.core.utils.JsonQueryUtils;
 import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.SelectFieldOrAsterisk;
@@ -47,6 +51,8 @@ public abstract class AbstractQueryHandler<I, O> implements QueryHandler<I, O> {
   protected JwtInfoProvider jwtInfoProvider;
   @Autowired
   protected AccessPermissionService accessPermissionService;
+  @Autowired
+  private ObjectMapper responseObjectMapper;
 
   protected final TableDataProvider tableDataProvider;
 
@@ -76,6 +82,33 @@ public abstract class AbstractQueryHandler<I, O> implements QueryHandler<I, O> {
     }
   }
 
+  @AuditableDatabaseOperation(Operation.READ)
+  @Override
+  public Optional<String> findByIdAsJson(Request<I> input) {
+    var jsonSelectFields = jsonSelectFields();
+    if (jsonSelectFields.isEmpty()) {
+      return findById(input).map(this::writeAsJson);
+    }
+
+    log.info("Reading JSON from DB");
+
+    validateAccess(input);
+
+    I id = input.getPayload();
+    try {
+      var row =
+          context
+              .select(jsonSelectFields.get())
+              .from(DSL.table(tableDataProvider.tableName()))
+              .where(DSL.field(tableDataProvider.pkColumnName()).eq(id))
+                  .and(getCommonCondition(input));
+      return Optional.ofNullable(
+          JsonQueryUtils.jsonObjectOf(context, row).fetchOne(0, String.class));
+    } catch (Exception e) {
+      throw new SqlErrorException("Can not read from DB", e);
+    }
+  }
+
   public void validateAccess(Request<I> input) {
     JwtClaimsDto userClaims = jwtInfoProvider.getUserClaims(input);
     if (!accessPermissionService.hasReadAccess(getFieldsToCheckAccess(), userClaims)) {
@@ -88,6 +121,23 @@ public abstract class AbstractQueryHandler<I, O> implements QueryHandler<I, O> {
     return DSL.noCondition();
   }
 
+  /**
+   * Fields for rendering the entity as JSON in the database, or empty when the database can not
+   * render it exactly as the DTO serialization does, in which case
+   * {@link #findByIdAsJson(Request)} serializes the DTO instead.
+   */
+  public Optional<List<SelectFieldOrAsterisk>> jsonSelectFields() {
+    return JsonQueryUtils.dtoFields(responseObjectMapper, entityType(), selectFields());
+  }
+
+  private String writeAsJson(O dto) {
+    try {
+      return responseObjectMapper.writeValueAsString(dto);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
   public abstract List<FieldsAccessCheckDto> getFieldsToCheckAccess();
 
   public abstract Class<O> entityType();
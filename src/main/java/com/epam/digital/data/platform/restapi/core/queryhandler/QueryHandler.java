@@ -25,4 +25,7 @@ public interface QueryHandler<I, O> {
 
   @NewSpan
   Optional<O> findById(Request<I> input);
+
+  @NewSpan
+  Optional<String> findByIdAsJson(Request<I> input);
 }
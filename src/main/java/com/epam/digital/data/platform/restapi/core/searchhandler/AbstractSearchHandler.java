@@ -20,28 +20,73 @@ import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.search.SearchConditionPage;
 import com.epam.digital.data.platform.restapi.core.audit.AuditableDatabaseOperation;
 import com.epam.digital.data.platform.restapi.core.audit.AuditableDatabaseOperation.Operation;
+import com.epam.digital.data.platform.restapi.core.exception.ForbiddenOperationException;
+import com.epam.digital.data.platform.restapi.core.exception.InvalidAggregationException;
+import com.epam.digital.data.platform.restapi.core.exception.InvalidChangeCursorException;
+import com.epam.digital.data.platform.restapi.core.exception.NotFoundException;
 import com.epam.digital.data.platform.restapi.core.exception.SqlErrorException;
+import com.epam.digital.data.platform.restapi.core.jooq.PartitionPruningReporter;
+import com.epam.digital.data.platform.restapi.core.model.AggregationCriteria;
+import com.epam.digital.data.platform.restapi.core.model.AggregationGroup;
+import com.epam.digital.data.platform.restapi.core.model.ChangeFeedPage;
+import com.epam.digital.data.platform.restapi.core.model.FieldsAccessCheckDto;
+import com.epam.digital.data.platform.restapi.core.model.PartitionRange;
+import com.epam.digital.data.platform.restapi.core.service.AccessPermissionService;
+import com.epam.digital.data.platform.restapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.restapi.core.service.ParallelReadExecutor;
+import com.epam.digital.data.platform.restapi.core.utils.JsonQueryUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import org.apache.commons.collections4.CollectionUtils;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Record;
 import org.jooq.SelectFieldOrAsterisk;
 import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 public abstract class AbstractSearchHandler<I, O>
     implements SearchHandler<I, O> {
 
+  static final String COUNT_ALIAS = "count";
+  static final String SUM_ALIAS_PREFIX = "sum_";
+  static final String CHANGE_VERSION_ALIAS = "ddm_change_version";
+  private static final int MAX_AGGREGATION_GROUPS = 1000;
+  private static final int DEFAULT_CHANGE_FEED_BATCH_SIZE = 500;
+
   @Autowired
   protected DSLContext context;
+  @Autowired
+  protected JwtInfoProvider jwtInfoProvider;
+  @Autowired
+  protected AccessPermissionService accessPermissionService;
+
+  @Autowired(required = false)
+  protected ParallelReadExecutor parallelReadExecutor;
+  @Autowired(required = false)
+  protected PartitionPruningReporter partitionPruningReporter;
 
   @Autowired
   @Qualifier("jooqMapper")
   private ObjectMapper objectMapper;
+  @Autowired
+  private ObjectMapper responseObjectMapper;
+
+  private volatile List<String> tableColumns;
 
   @AuditableDatabaseOperation(Operation.SEARCH)
   @Override
@@ -51,12 +96,232 @@ public abstract class AbstractSearchHandler<I, O>
     return response;
   }
 
+  @AuditableDatabaseOperation(Operation.SEARCH)
+  @Override
+  public String searchAsJson(Request<I> input) {
+    var jsonSelectFields = jsonSelectFields();
+    if (jsonSelectFields.isEmpty()) {
+      return writeAsJson(getContent(input));
+    }
+    I searchCriteria = input.getPayload();
+    try {
+      var rows =
+          context
+              .select(jsonSelectFields.get())
+              .from(DSL.table(tableName()))
+              .where(whereClause(searchCriteria))
+              .and(partitionCondition(searchCriteria))
+              .and(getCommonCondition(input))
+              .limit(offset(searchCriteria), limit(searchCriteria));
+      return JsonQueryUtils.jsonArrayOf(context, rows).fetchOne(0, String.class);
+    } catch (Exception e) {
+      throw new SqlErrorException("Can not read from DB", e);
+    }
+  }
+
+  @AuditableDatabaseOperation(Operation.SEARCH)
+  @Override
+  public List<AggregationGroup> aggregate(Request<I> input, AggregationCriteria aggregation) {
+    var groupByColumns = aggregation.getGroupBy();
+    var sumColumns = aggregation.getSum();
+
+    var requestedColumns = new LinkedHashSet<String>();
+    requestedColumns.addAll(groupByColumns);
+    requestedColumns.addAll(sumColumns);
+    if (!aggregationColumns().containsAll(requestedColumns)) {
+      throw new ForbiddenOperationException(
+          "Aggregation by requested columns is not allowed for " + tableName());
+    }
+    validateAccess(input, new ArrayList<>(requestedColumns));
+
+    List<Field<Object>> groupByFields =
+        groupByColumns.stream().map(column -> DSL.field(DSL.name(column))).collect(Collectors.toList());
+    var selectFields = new ArrayList<SelectFieldOrAsterisk>(groupByFields);
+    selectFields.add(DSL.count().as(COUNT_ALIAS));
+    sumColumns.forEach(column -> selectFields.add(
+        DSL.sum(DSL.field(DSL.name(column), BigDecimal.class)).as(SUM_ALIAS_PREFIX + column)));
+
+    I searchCriteria = input.getPayload();
+    List<AggregationGroup> groups;
+    try {
+      groups = context
+          .select(selectFields)
+          .from(DSL.table(tableName()))
+          .where(whereClause(searchCriteria))
+          .and(partitionCondition(searchCriteria))
+          .and(getCommonCondition(input))
+          .groupBy(groupByFields)
+          .orderBy(groupByFields)
+          .limit(MAX_AGGREGATION_GROUPS + 1)
+          .fetch(r -> mapAggregationGroup(r, groupByColumns, sumColumns));
+    } catch (Exception e) {
+      throw new SqlErrorException("Can not read from DB", e);
+    }
+    // incomplete facet counts would look like complete ones, so the request is rejected instead
+    if (groups.size() > MAX_AGGREGATION_GROUPS) {
+      throw new InvalidAggregationException(
+          "Aggregation exceeds the limit of " + MAX_AGGREGATION_GROUPS + " groups");
+    }
+    return groups;
+  }
+
+  private AggregationGroup mapAggregationGroup(
+      Record src, List<String> groupByColumns, List<String> sumColumns) {
+    var group = new AggregationGroup();
+    groupByColumns.forEach(column -> group.getGroup().put(column, src.get(column)));
+    group.setCount(src.get(COUNT_ALIAS, Long.class));
+    sumColumns.forEach(column -> group.getSum()
+        .put(column, src.get(SUM_ALIAS_PREFIX + column, BigDecimal.class)));
+    return group;
+  }
+
+  @AuditableDatabaseOperation(Operation.SEARCH)
+  @Override
+  public ChangeFeedPage<O> changes(Request<I> input, String cursor) {
+    if (changeVersionColumn() == null) {
+      throw new NotFoundException("Change feed is not available for " + tableName());
+    }
+
+    var versionField = DSL.field(DSL.name(changeVersionColumn()), Long.class);
+    var selectFields = new ArrayList<>(selectFields());
+    var accessedColumns = new ArrayList<>(selectedColumns(selectFields));
+    if (!accessedColumns.contains(changeVersionColumn())) {
+      accessedColumns.add(changeVersionColumn());
+    }
+    validateAccess(input, accessedColumns);
+
+    selectFields.add(versionField.as(CHANGE_VERSION_ALIAS));
+    var versionCondition =
+        cursor == null ? DSL.noCondition() : versionField.gt(decodeChangeCursor(cursor));
+    int batchSize = changeFeedBatchSize();
+
+    I searchCriteria = input.getPayload();
+    List<Record> records;
+    try {
+      records = context
+          .select(selectFields)
+          .from(DSL.table(tableName()))
+          .where(whereClause(searchCriteria))
+          .and(partitionCondition(searchCriteria))
+          .and(getCommonCondition(input))
+          .and(versionCondition)
+          .orderBy(versionField)
+          .limit(batchSize + 1)
+          .fetch();
+    } catch (Exception e) {
+      throw new SqlErrorException("Can not read from DB", e);
+    }
+
+    var page = new ChangeFeedPage<O>();
+    page.setHasMore(records.size() > batchSize);
+    var batch = records.subList(0, Math.min(records.size(), batchSize));
+    // mapped the same way as search() maps the rows of the same select
+    var intoEntity = CollectionUtils.size(selectFields()) > 1;
+    page.setContent(batch.stream()
+        .map(changedRecord -> mapChangedRecord(changedRecord, intoEntity))
+        .collect(Collectors.toList()));
+    page.setNextCursor(batch.isEmpty()
+        ? cursor
+        : encodeChangeCursor(batch.get(batch.size() - 1).get(CHANGE_VERSION_ALIAS, Long.class)));
+    return page;
+  }
+
+  private O mapChangedRecord(Record src, boolean intoEntity) {
+    var fields = src.fields();
+    var content = src.into(Arrays.copyOf(fields, fields.length - 1));
+    return intoEntity ? content.into(entityType()) : mapFieldsToEntity(content);
+  }
+
+  private String encodeChangeCursor(Long version) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(String.valueOf(version).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Long decodeChangeCursor(String cursor) {
+    try {
+      return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidChangeCursorException("Invalid change feed cursor: " + cursor, e);
+    }
+  }
+
+  /**
+   * Checks read access to the selected columns. {@link #search(Request)} leaves it to the
+   * endpoint, callers that reach the handler some other way must call it first.
+   */
+  public void validateAccess(Request<I> input) {
+    validateAccess(input, selectedColumns(selectFields()));
+  }
+
+  /**
+   * Names of the columns read by the select, with an asterisk standing for every column of the
+   * table.
+   */
+  private List<String> selectedColumns(List<? extends SelectFieldOrAsterisk> selectFields) {
+    var columns = new LinkedHashSet<String>();
+    for (SelectFieldOrAsterisk field : selectFields) {
+      if (field instanceof Field) {
+        columns.add(((Field<?>) field).getName());
+      } else {
+        columns.addAll(tableColumns());
+      }
+    }
+    return new ArrayList<>(columns);
+  }
+
+  private List<String> tableColumns() {
+    var columns = tableColumns;
+    if (columns == null) {
+      try {
+        columns = Arrays.stream(context
+                .select(DSL.asterisk())
+                .from(DSL.table(tableName()))
+                .limit(0)
+                .fetch()
+                .fields())
+            .map(Field::getName)
+            .collect(Collectors.toList());
+      } catch (Exception e) {
+        throw new SqlErrorException("Can not read from DB", e);
+      }
+      tableColumns = columns;
+    }
+    return columns;
+  }
+
+  protected void validateAccess(Request<I> input, List<String> columns) {
+    var userClaims = jwtInfoProvider.getUserClaims(input);
+    var fieldsToCheck = List.of(new FieldsAccessCheckDto(tableName(), columns));
+    if (!accessPermissionService.hasReadAccess(fieldsToCheck, userClaims)) {
+      throw new ForbiddenOperationException(
+          "User has invalid role for search from " + tableName());
+    }
+  }
+
+  /**
+   * Fetches the page content together with the total count of matching records, running both
+   * queries at the same time when parallel count is enabled.
+   */
+  protected SearchConditionPage<O> searchWithTotalCount(Request<I> input) {
+    var response = new SearchConditionPage<O>();
+    if (parallelReadExecutor != null && parallelReadExecutor.isEnabled()) {
+      var result = parallelReadExecutor.execute(() -> getContent(input), () -> count(input));
+      response.setContent(result.getLeft());
+      response.setTotalElements(result.getRight());
+    } else {
+      response.setContent(getContent(input));
+      response.setTotalElements(count(input));
+    }
+    return response;
+  }
+
   protected Integer count(Request<I> input) {
     I searchCriteria = input.getPayload();
     return context
         .selectCount()
         .from(DSL.table(tableName()))
         .where(whereClause(searchCriteria))
+        .and(partitionCondition(searchCriteria))
         .and(getCommonCondition(input))
         .fetchOne(0, Integer.class);
   }
@@ -71,8 +336,13 @@ public abstract class AbstractSearchHandler<I, O>
               .select(selectFields)
               .from(DSL.table(tableName()))
               .where(whereClause(searchCriteria))
+              .and(partitionCondition(searchCriteria))
               .and(getCommonCondition(input))
               .limit(offset(searchCriteria), limit(searchCriteria));
+      if (partitionKeyColumn() != null
+          && partitionPruningReporter != null && partitionPruningReporter.isEnabled()) {
+        partitionPruningReporter.report(partitionedTableName(), selectRequest);
+      }
       return CollectionUtils.size(selectFields) > 1
           ? selectRequest.fetchInto(entityType())
           : selectRequest.fetch(this::mapFieldsToEntity);
@@ -81,10 +351,37 @@ public abstract class AbstractSearchHandler<I, O>
     }
   }
 
+  private String writeAsJson(List<O> content) {
+    try {
+      return responseObjectMapper.writeValueAsString(content);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
   private O mapFieldsToEntity(Record src) {
     return objectMapper.convertValue(src.intoMap(), entityType());
   }
 
+  private Condition partitionCondition(I searchCriteria) {
+    if (partitionKeyColumn() == null) {
+      return DSL.noCondition();
+    }
+    var range = partitionRange(searchCriteria);
+    if (range == null) {
+      return DSL.noCondition();
+    }
+    var partitionKey = DSL.field(DSL.name(partitionKeyColumn()));
+    var condition = DSL.noCondition();
+    if (range.getFrom() != null) {
+      condition = condition.and(partitionKey.ge(range.getFrom()));
+    }
+    if (range.getTo() != null) {
+      condition = condition.and(partitionKey.lt(range.getTo()));
+    }
+    return condition;
+  }
+
   protected Condition getCommonCondition(Request<I> input) {
     return DSL.noCondition();
   }
@@ -97,6 +394,54 @@ public abstract class AbstractSearchHandler<I, O>
 
   protected abstract List<SelectFieldOrAsterisk> selectFields();
 
+  /**
+   * Fields for rendering the search result as JSON in the database, or empty when the database
+   * can not render it exactly as the DTO serialization does, in which case
+   * {@link #searchAsJson(Request)} serializes the DTOs instead.
+   */
+  protected Optional<List<SelectFieldOrAsterisk>> jsonSelectFields() {
+    return JsonQueryUtils.dtoFields(responseObjectMapper, entityType(), selectFields());
+  }
+
+  /**
+   * Partition key column of a range-partitioned table. When set, the range returned by
+   * {@link #partitionRange(Object)} is added to the search condition as explicit key predicates,
+   * so PostgreSQL can prune partitions even if the criteria filter on derived values.
+   */
+  protected String partitionKeyColumn() {
+    return null;
+  }
+
+  protected PartitionRange partitionRange(I searchCriteria) {
+    return null;
+  }
+
+  protected String partitionedTableName() {
+    return tableName();
+  }
+
+  /**
+   * Numeric version column that {@link #changes(Request, String)} pages by; without it the change
+   * feed of the handler is reported as not found.
+   *
+   * <p>The cursor is the last version seen by the reader, so the feed is exact only if versions
+   * become visible in increasing order. A version taken from a sequence by concurrent
+   * transactions may commit after a higher one that was already read, and such a row is skipped
+   * until it changes again. Readers that need every change should use a version assigned at
+   * commit time or re-read a window behind the cursor. Deleted rows are not in the feed.
+   */
+  protected String changeVersionColumn() {
+    return null;
+  }
+
+  protected int changeFeedBatchSize() {
+    return DEFAULT_CHANGE_FEED_BATCH_SIZE;
+  }
+
+  protected List<String> aggregationColumns() {
+    return Collections.emptyList();
+  }
+
   protected Integer limit(I searchCriteria) {
     return null;
   }
@@ -18,10 +18,23 @@ package com.epam.digital.data.platform.restapi.core.searchhandler;
 
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.search.SearchConditionPage;
+import com.epam.digital.data.platform.restapi.core.model.AggregationCriteria;
+import com.epam.digital.data.platform.restapi.core.model.AggregationGroup;
+import com.epam.digital.data.platform.restapi.core.model.ChangeFeedPage;
+import java.util.List;
 import org.springframework.cloud.sleuth.annotation.NewSpan;
 
 public interface SearchHandler<I, O> {
 
   @NewSpan
   SearchConditionPage<O> search(Request<I> searchCriteria);
+
+  @NewSpan
+  String searchAsJson(Request<I> searchCriteria);
+
+  @NewSpan
+  List<AggregationGroup> aggregate(Request<I> searchCriteria, AggregationCriteria aggregation);
+
+  @NewSpan
+  ChangeFeedPage<O> changes(Request<I> searchCriteria, String cursor);
 }
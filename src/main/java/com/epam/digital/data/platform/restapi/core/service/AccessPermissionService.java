@@ -20,6 +20,7 @@ import com.epam.digital.data.platform.restapi.core.model.FieldsAccessCheckDto;
 import com.epam.digital.data.platform.restapi.core.utils.JwtClaimsUtils;
 import com.epam.digital.data.platform.restapi.core.utils.SQLExceptionResolverUtil;
 import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
@@ -47,8 +48,9 @@ public class AccessPermissionService {
   public boolean hasReadAccess(
       List<FieldsAccessCheckDto> accessedFieldsDto, JwtClaimsDto userClaims) {
     List<String> userRoles = JwtClaimsUtils.getRoles(userClaims);
-    try (Connection connection = dataSource.getConnection();
-         CallableStatement statement = connection.prepareCall(PERMISSION_CHECK_SQL_STRING)) { //NOSONAR
+    // joins the caller's transaction connection when there is one (e.g. a composite read)
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try (CallableStatement statement = connection.prepareCall(PERMISSION_CHECK_SQL_STRING)) { //NOSONAR
       Array userRolesDbArray = connection.createArrayOf("text", userRoles.toArray());
       for (FieldsAccessCheckDto tableFields : accessedFieldsDto) {
         Array searchFieldsDbArray = connection.createArrayOf("text", tableFields.getFields().toArray());
@@ -69,6 +71,8 @@ public class AccessPermissionService {
       }
     } catch (SQLException e) {
       throw SQLExceptionResolverUtil.getDetailedExceptionFromSql(e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
     }
     return true;
   }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.service;
+
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.epam.digital.data.platform.restapi.core.exception.NotFoundException;
+import com.epam.digital.data.platform.restapi.core.idempotency.ReplyCache;
+import com.epam.digital.data.platform.restapi.core.model.AsyncOperation;
+import com.epam.digital.data.platform.restapi.core.model.AsyncOperation.State;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write mode for callers that do not wait for the result: the request is sent to Kafka, the
+ * caller gets an operation id at once and polls for the reply, which is kept in a bounded store
+ * until its TTL expires. An operation can only be read by the caller that submitted it; to anyone
+ * else it does not exist. Enabled with {@code data-platform.async-operation.enabled}.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "data-platform.async-operation", name = "enabled", havingValue = "true")
+public class AsyncOperationService {
+
+  private final Logger log = LoggerFactory.getLogger(AsyncOperationService.class);
+
+  private final ReplyCache operationStore;
+  private final ObjectMapper objectMapper;
+  private final JwtInfoProvider jwtInfoProvider;
+
+  public AsyncOperationService(
+      @Qualifier("asyncOperationStore") ReplyCache operationStore,
+      ObjectMapper objectMapper,
+      JwtInfoProvider jwtInfoProvider) {
+    this.operationStore = operationStore;
+    this.objectMapper = objectMapper;
+    this.jwtInfoProvider = jwtInfoProvider;
+  }
+
+  public <I, O> AsyncOperation submit(KafkaService<I, O> service, Request<I> input) {
+    var operationId = UUID.randomUUID().toString();
+    var submitter = callerOf(input).orElse(null);
+    store(new AsyncOperation(operationId, State.PENDING, null, submitter));
+
+    log.info("Submitting async operation {}", operationId);
+    service.requestAsync(input).whenComplete((response, e) -> {
+      if (e != null) {
+        log.error("Async operation {} failed", operationId, e);
+        response = failedResponse(e);
+      }
+      store(new AsyncOperation(
+          operationId, State.COMPLETED, objectMapper.valueToTree(response), submitter));
+    });
+    return new AsyncOperation(operationId, State.PENDING, null);
+  }
+
+  /**
+   * Reads the operation whose id is the payload of the request, on behalf of the caller in its
+   * security context.
+   */
+  public AsyncOperation getOperation(Request<UUID> input) {
+    var operationId = input.getPayload().toString();
+    var operation = read(operationId);
+    if (!Objects.equals(operation.getSubmitter(), callerOf(input).orElse(null))) {
+      log.warn("Async operation {} requested by a caller other than its submitter", operationId);
+      throw notFound(operationId);
+    }
+    operation.setSubmitter(null);
+    return operation;
+  }
+
+  private AsyncOperation read(String operationId) {
+    var operation = operationStore.get(operationId).orElseThrow(() -> notFound(operationId));
+    try {
+      return objectMapper.readValue(operation, AsyncOperation.class);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
+  private NotFoundException notFound(String operationId) {
+    return new NotFoundException("Async operation not found: " + operationId);
+  }
+
+  private Optional<String> callerOf(Request<?> input) {
+    var securityContext = input.getSecurityContext();
+    if (securityContext == null || StringUtils.isBlank(securityContext.getAccessToken())) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(jwtInfoProvider.getUserClaims(input).getSubject())
+        .filter(StringUtils::isNotBlank);
+  }
+
+  public Response<JsonNode> getResponse(AsyncOperation operation) {
+    return objectMapper.convertValue(
+        operation.getResponse(),
+        objectMapper.getTypeFactory().constructParametricType(Response.class, JsonNode.class));
+  }
+
+  private void store(AsyncOperation operation) {
+    try {
+      operationStore.put(operation.getOperationId(), objectMapper.writeValueAsString(operation));
+    } catch (JsonProcessingException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
+  private <O> Response<O> failedResponse(Throwable e) {
+    var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    Response<O> response = new Response<>();
+    response.setStatus(Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
+    response.setDetails(cause.getMessage());
+    return response;
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.service;
+
+import com.epam.digital.data.platform.integration.ceph.service.CephService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Deletes processed objects from a Ceph bucket in the background. Keys are collected and removed
+ * with multi-object deletes either every {@code flushInterval} or as soon as {@code batchSize}
+ * keys are pending. A failed batch is retried with exponential backoff; keys that are still not
+ * deleted after {@code maxAttempts} are reported as orphaned. At most {@code maxPending} keys,
+ * pending and awaiting retry together, are held in memory; keys enqueued beyond that while Ceph is
+ * unavailable are not deleted and are reported as orphaned as well.
+ */
+public class CephDeletionQueue {
+
+  static final String QUEUE_DEPTH_METRIC = "data_platform_ceph_deletion_queue_depth";
+  static final String ORPHANED_OBJECTS_METRIC = "data_platform_ceph_orphaned_objects";
+
+  private final Logger log = LoggerFactory.getLogger(CephDeletionQueue.class);
+
+  private final CephService cephService;
+  private final String bucket;
+  private final TaskScheduler scheduler;
+  private final Clock clock;
+  private final int batchSize;
+  private final int maxPending;
+  private final Duration flushInterval;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+
+  private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+  private final List<PendingDelete> retries = new ArrayList<>();
+  private final AtomicInteger depth = new AtomicInteger();
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+  private final Counter orphanedObjects;
+
+  private ScheduledFuture<?> flushTask;
+
+  public CephDeletionQueue(
+      CephService cephService,
+      String bucket,
+      TaskScheduler scheduler,
+      MeterRegistry meterRegistry,
+      Clock clock,
+      int batchSize,
+      int maxPending,
+      Duration flushInterval,
+      int maxAttempts,
+      Duration initialBackoff) {
+    this.cephService = cephService;
+    this.bucket = bucket;
+    this.scheduler = scheduler;
+    this.clock = clock;
+    this.batchSize = batchSize;
+    this.maxPending = maxPending;
+    this.flushInterval = flushInterval;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    meterRegistry.gauge(QUEUE_DEPTH_METRIC, depth);
+    this.orphanedObjects = meterRegistry.counter(ORPHANED_OBJECTS_METRIC);
+  }
+
+  public void start() {
+    flushTask = scheduler.scheduleWithFixedDelay(this::flush, flushInterval);
+  }
+
+  public void stop() {
+    if (flushTask != null) {
+      flushTask.cancel(false);
+    }
+    flush();
+    if (depth.get() > 0) {
+      log.warn("{} processed objects left in Ceph bucket {} on shutdown", depth.get(), bucket);
+    }
+  }
+
+  public void enqueue(String key) {
+    var newDepth = depth.incrementAndGet();
+    if (newDepth > maxPending) {
+      depth.decrementAndGet();
+      orphanedObjects.increment();
+      log.warn("Deletion queue is full, processed object {} left in Ceph bucket {}", key, bucket);
+      return;
+    }
+    pending.add(key);
+    if (newDepth >= batchSize && flushRequested.compareAndSet(false, true)) {
+      scheduler.schedule(this::flush, clock.instant());
+    }
+  }
+
+  int getDepth() {
+    return depth.get();
+  }
+
+  synchronized void flush() {
+    flushRequested.set(false);
+    var now = clock.millis();
+    var dueRetries = new ArrayList<PendingDelete>();
+    retries.removeIf(retry -> retry.notBefore <= now && dueRetries.add(retry));
+
+    var batch = new ArrayList<>(dueRetries);
+    String key;
+    while ((key = pending.poll()) != null) {
+      batch.add(new PendingDelete(key, 0, now));
+    }
+
+    for (int from = 0; from < batch.size(); from += batchSize) {
+      delete(batch.subList(from, Math.min(from + batchSize, batch.size())), now);
+    }
+  }
+
+  private void delete(List<PendingDelete> batch, long now) {
+    Set<String> keys = new LinkedHashSet<>();
+    batch.forEach(item -> keys.add(item.key));
+    try {
+      cephService.delete(bucket, keys);
+      depth.addAndGet(-batch.size());
+      log.debug("Deleted {} processed objects from Ceph", keys.size());
+    } catch (Exception e) {
+      log.warn("Exception while deleting {} processed objects from Ceph", keys.size(), e);
+      batch.forEach(item -> retryOrDrop(item, now));
+    }
+  }
+
+  private void retryOrDrop(PendingDelete item, long now) {
+    var attempts = item.attempts + 1;
+    if (attempts >= maxAttempts) {
+      depth.decrementAndGet();
+      orphanedObjects.increment();
+      log.error("Giving up deleting processed object {} from Ceph bucket {}", item.key, bucket);
+      return;
+    }
+    var backoff = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+    retries.add(new PendingDelete(item.key, attempts, now + backoff));
+  }
+
+  private static class PendingDelete {
+
+    private final String key;
+    private final int attempts;
+    private final long notBefore;
+
+    PendingDelete(String key, int attempts, long notBefore) {
+      this.key = key;
+      this.attempts = attempts;
+      this.notBefore = notBefore;
+    }
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.service;
+
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.epam.digital.data.platform.restapi.core.exception.InvalidCompositeReadRequestException;
+import com.epam.digital.data.platform.restapi.core.exception.NotFoundException;
+import com.epam.digital.data.platform.restapi.core.model.CompositeReadRequest;
+import com.epam.digital.data.platform.restapi.core.queryhandler.AbstractQueryHandler;
+import com.epam.digital.data.platform.restapi.core.queryhandler.QueryHandler;
+import com.epam.digital.data.platform.restapi.core.searchhandler.AbstractSearchHandler;
+import com.epam.digital.data.platform.restapi.core.searchhandler.SearchHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class CompositeReadService {
+
+  private final Logger log = LoggerFactory.getLogger(CompositeReadService.class);
+
+  private final ListableBeanFactory beanFactory;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate readOnlyTransactionTemplate;
+  private final Executor compositeReadExecutor;
+  private final int parallelism;
+  private final int maxSubRequests;
+  private final List<String> allowedHandlers;
+  private volatile Map<String, Object> readHandlers;
+
+  public CompositeReadService(
+      ListableBeanFactory beanFactory,
+      ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager,
+      @Qualifier("compositeReadExecutor") Executor compositeReadExecutor,
+      @Value("${data-platform.composite-read.parallelism:1}") int parallelism,
+      @Value("${data-platform.composite-read.max-sub-requests:20}") int maxSubRequests,
+      @Value("${data-platform.composite-read.handlers:}") List<String> allowedHandlers) {
+    this.beanFactory = beanFactory;
+    this.objectMapper = objectMapper;
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    this.compositeReadExecutor = compositeReadExecutor;
+    this.parallelism = parallelism;
+    this.maxSubRequests = maxSubRequests;
+    this.allowedHandlers = allowedHandlers;
+  }
+
+  public Map<String, Response<Object>> request(Request<List<CompositeReadRequest>> input) {
+    var subRequests = input.getPayload();
+    validate(subRequests);
+
+    if (parallelism <= 1 || subRequests.size() == 1) {
+      log.info("Executing {} read requests on a single connection", subRequests.size());
+      return readOnlyTransactionTemplate.execute(status -> executeSequentially(input));
+    }
+    log.info("Executing {} read requests, parallelism {}", subRequests.size(), parallelism);
+    return executeInParallel(input);
+  }
+
+  private Map<String, Response<Object>> executeSequentially(
+      Request<List<CompositeReadRequest>> input) {
+    var responses = new LinkedHashMap<String, Response<Object>>();
+    input.getPayload().forEach(subRequest ->
+        responses.put(subRequest.getName(), execute(subRequest, input)));
+    return responses;
+  }
+
+  private Map<String, Response<Object>> executeInParallel(
+      Request<List<CompositeReadRequest>> input) {
+    var permits = new Semaphore(parallelism);
+    var futures = new LinkedHashMap<String, CompletableFuture<Response<Object>>>();
+    for (CompositeReadRequest subRequest : input.getPayload()) {
+      permits.acquireUninterruptibly();
+      CompletableFuture<Response<Object>> future;
+      try {
+        future = CompletableFuture
+            .supplyAsync(() -> execute(subRequest, input), compositeReadExecutor);
+      } catch (RejectedExecutionException e) {
+        permits.release();
+        throw e;
+      }
+      future.whenComplete((response, e) -> permits.release());
+      futures.put(subRequest.getName(), future);
+    }
+
+    var responses = new LinkedHashMap<String, Response<Object>>();
+    try {
+      futures.forEach((name, future) -> responses.put(name, future.join()));
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+    return responses;
+  }
+
+  private Response<Object> execute(
+      CompositeReadRequest subRequest, Request<List<CompositeReadRequest>> input) {
+    var handler = getHandler(subRequest.getHandler());
+    Response<Object> response = new Response<>();
+
+    if (handler instanceof AbstractSearchHandler) {
+      var searchHandler = (AbstractSearchHandler<Object, ?>) handler;
+      var payload = toHandlerInput(subRequest, handler, SearchHandler.class);
+      var request = copyRequest(input, payload);
+      // search() relies on the endpoint for authorization, a sub-request is checked here
+      searchHandler.validateAccess(request);
+      response.setPayload(searchHandler.search(request));
+      response.setStatus(Status.SUCCESS);
+    } else {
+      // findById() checks access itself
+      var queryHandler = (AbstractQueryHandler<Object, ?>) handler;
+      var payload = toHandlerInput(subRequest, handler, QueryHandler.class);
+      var found = queryHandler.findById(copyRequest(input, payload));
+      if (found.isPresent()) {
+        response.setPayload(found.get());
+        response.setStatus(Status.SUCCESS);
+      } else {
+        response.setStatus(Status.NOT_FOUND);
+      }
+    }
+    return response;
+  }
+
+  private Object getHandler(String name) {
+    var handler = name == null ? null : readHandlers().get(name);
+    if (handler == null) {
+      throw new NotFoundException("Read handler not found: " + name);
+    }
+    return handler;
+  }
+
+  /**
+   * Search and query handler singletons by bean name, limited to
+   * {@code data-platform.composite-read.handlers}; none are exposed while it is empty. Handlers
+   * whose access can not be checked per sub-request are never exposed. A client-supplied name is
+   * only looked up here, so it can never instantiate a bean or reach a bean of another type.
+   */
+  private Map<String, Object> readHandlers() {
+    var handlers = readHandlers;
+    if (handlers == null) {
+      var found = new HashMap<String, Object>();
+      if (!allowedHandlers.isEmpty()) {
+        found.putAll(beanFactory.getBeansOfType(SearchHandler.class, false, false));
+        found.putAll(beanFactory.getBeansOfType(QueryHandler.class, false, false));
+        found.keySet().retainAll(allowedHandlers);
+        found.entrySet().removeIf(entry -> {
+          if (isAccessChecked(entry.getValue())) {
+            return false;
+          }
+          log.warn("Read handler {} is not exposed, its access can not be checked",
+              entry.getKey());
+          return true;
+        });
+      }
+      handlers = Map.copyOf(found);
+      readHandlers = handlers;
+    }
+    return handlers;
+  }
+
+  private boolean isAccessChecked(Object handler) {
+    return handler instanceof AbstractSearchHandler || handler instanceof AbstractQueryHandler;
+  }
+
+  private Object toHandlerInput(
+      CompositeReadRequest subRequest, Object handler, Class<?> handlerType) {
+    var inputType = ResolvableType.forClass(AopUtils.getTargetClass(handler))
+        .as(handlerType)
+        .resolveGeneric(0);
+    return objectMapper.convertValue(subRequest.getPayload(), inputType);
+  }
+
+  private Request<Object> copyRequest(
+      Request<List<CompositeReadRequest>> input, Object payload) {
+    return new Request<>(payload, input.getRequestContext(), input.getSecurityContext());
+  }
+
+  private void validate(List<CompositeReadRequest> subRequests) {
+    if (subRequests == null || subRequests.isEmpty()) {
+      throw new InvalidCompositeReadRequestException("Composite read request is empty");
+    }
+    if (subRequests.size() > maxSubRequests) {
+      throw new InvalidCompositeReadRequestException(
+          "Composite read request exceeds the limit of " + maxSubRequests + " sub-requests");
+    }
+    var names = new HashSet<String>();
+    subRequests.forEach(subRequest -> {
+      if (!names.add(subRequest.getName())) {
+        throw new InvalidCompositeReadRequestException(
+            "Duplicate composite read request name: " + subRequest.getName());
+      }
+    });
+  }
+}
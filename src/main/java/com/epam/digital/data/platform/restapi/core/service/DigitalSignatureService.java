@@ -25,7 +25,6 @@ import com.epam.digital.data.platform.dso.client.exception.InternalServerErrorEx
 import com.epam.digital.data.platform.dso.client.exception.InvalidSignatureException;
 import com.epam.digital.data.platform.integration.ceph.service.CephService;
 import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
-import com.epam.digital.data.platform.restapi.core.exception.DigitalSignatureNotFoundException;
 import com.epam.digital.data.platform.restapi.core.exception.KepServiceBadRequestException;
 import com.epam.digital.data.platform.restapi.core.exception.KepServiceInternalServerErrorException;
 import com.epam.digital.data.platform.restapi.core.utils.Header;
@@ -34,9 +33,16 @@ import com.epam.digital.data.platform.storage.form.service.FormDataStorageServic
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -52,6 +58,7 @@ public class DigitalSignatureService {
   private final String datafactoryBucket;
   private final DigitalSealRestClient digitalSealRestClient;
   private final ObjectMapper objectMapper;
+  private final Executor signatureReadExecutor;
 
   public DigitalSignatureService(
       FormDataStorageService lowcodeFormDataStorageService,
@@ -59,26 +66,48 @@ public class DigitalSignatureService {
       CephService datafactoryCephService,
       @Value("${datafactoryceph.bucket}") String datafactoryBucket,
       DigitalSealRestClient digitalSealRestClient,
-      ObjectMapper objectMapper) {
+      ObjectMapper objectMapper,
+      @Qualifier("signatureReadExecutor") Executor signatureReadExecutor) {
     this.lowcodeFormDataStorageService = lowcodeFormDataStorageService;
     this.datafactoryFormDataStorageService = datafactoryFormDataStorageService;
     this.datafactoryCephService = datafactoryCephService;
     this.datafactoryBucket = datafactoryBucket;
     this.digitalSealRestClient = digitalSealRestClient;
     this.objectMapper = objectMapper;
+    this.signatureReadExecutor = signatureReadExecutor;
   }
-  
-  public void checkSignature(String data, SecurityContext sc) {
-    String signature = getSignature(sc);
-    verify(signature, data);
+
+  /**
+   * Reads the signature and the derived signature of the request from lowcode storage for
+   * {@link #checkSignature(String, SecurityContext, LowcodeSignatures)} and
+   * {@link #copySignature(String, LowcodeSignatures)}. The signature is read on
+   * {@code signatureReadExecutor} while the derived one is read on the calling thread; a key shared
+   * by both headers is read once.
+   */
+  public LowcodeSignatures readSignatures(SecurityContext sc) {
+    var signatureKey = sc.getDigitalSignature();
+    var derivedKey = sc.getDigitalSignatureDerived();
+    log.info("Reading Signatures from lowcode storage with keys {} and {}", signatureKey, derivedKey);
+
+    var reads = new HashMap<String, CompletableFuture<Optional<FormDataDto>>>();
+    if (!signatureKey.equals(derivedKey)) {
+      reads.put(signatureKey, CompletableFuture.supplyAsync(
+          () -> lowcodeFormDataStorageService.getFormData(signatureKey), signatureReadExecutor));
+    }
+    reads.put(derivedKey, readNow(derivedKey));
+    return new LowcodeSignatures(reads);
   }
 
-  private String getSignature(SecurityContext sc) {
-    log.info("Reading Signature from lowcode storage with key {}", sc.getDigitalSignatureDerived());
-    var formData = lowcodeFormDataStorageService.getFormData(sc.getDigitalSignatureDerived())
-        .orElseThrow(
-            () -> new DigitalSignatureNotFoundException("Signature does not exist in lowcode storage"));
-    return formData.getSignature();
+  public void checkSignature(String data, SecurityContext sc, LowcodeSignatures signatures) {
+    verify(signatures.get(sc.getDigitalSignatureDerived()).getSignature(), data);
+  }
+
+  private CompletableFuture<Optional<FormDataDto>> readNow(String key) {
+    try {
+      return CompletableFuture.completedFuture(lowcodeFormDataStorageService.getFormData(key));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
   }
 
   private void verify(String signature, String data) {
@@ -96,21 +125,37 @@ public class DigitalSignatureService {
     }
   }
 
-  public String copySignature(String key) {
+  public String copySignature(String key, LowcodeSignatures signatures) {
     log.info("Copy Signature from lowcode to data ceph bucket");
-    var formData = lowcodeFormDataStorageService.getFormData(key).orElseThrow(
-        () -> new DigitalSignatureNotFoundException("Signature does not exist in lowcode storage"));
+    var formData = signatures.get(key);
     datafactoryFormDataStorageService.putFormData(key, formData);
     return serialize(formData);
   }
 
   public <I> String sign(I input) {
-    var signRequestDto = new SignRequestDto();
     try {
-      signRequestDto.setData(objectMapper.writeValueAsString(input));
+      return sign(objectMapper.writeValueAsString(input));
     } catch (JsonProcessingException e) {
       throw new RuntimeJsonMappingException(e.getMessage());
     }
+  }
+
+  public String signSerialized(byte[] serialized) {
+    return sign(new String(serialized, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Signs content that is not text, such as an Avro encoded request. The seal service signs
+   * strings, so the signed data is the base64 encoding of the exact bytes rather than a lossy
+   * UTF-8 decoding of them.
+   */
+  public String signBinary(byte[] serialized) {
+    return sign(Base64.getEncoder().encodeToString(serialized));
+  }
+
+  private String sign(String data) {
+    var signRequestDto = new SignRequestDto();
+    signRequestDto.setData(data);
 
     log.info("Signing content");
     return digitalSealRestClient.sign(signRequestDto).getSignature();
@@ -43,4 +43,18 @@ public abstract class GenericQueryService<I, O> {
 
     return response;
   }
+
+  public Response<String> requestAsJson(Request<I> input) {
+    Response<String> response = new Response<>();
+
+    Optional<String> json = queryHandler.findByIdAsJson(input);
+    if (json.isPresent()) {
+      response.setPayload(json.get());
+      response.setStatus(Status.SUCCESS);
+    } else {
+      response.setStatus(Status.NOT_FOUND);
+    }
+
+    return response;
+  }
 }
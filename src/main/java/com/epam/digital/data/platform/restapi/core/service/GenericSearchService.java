@@ -20,7 +20,11 @@ import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import com.epam.digital.data.platform.model.core.kafka.Status;
 import com.epam.digital.data.platform.model.core.search.SearchConditionPage;
+import com.epam.digital.data.platform.restapi.core.model.AggregationCriteria;
+import com.epam.digital.data.platform.restapi.core.model.AggregationGroup;
+import com.epam.digital.data.platform.restapi.core.model.ChangeFeedPage;
 import com.epam.digital.data.platform.restapi.core.searchhandler.SearchHandler;
+import java.util.List;
 
 public abstract class GenericSearchService<I, U, O> {
 
@@ -40,5 +44,33 @@ public abstract class GenericSearchService<I, U, O> {
     return response;
   }
 
+  public Response<String> requestAsJson(Request<I> input) {
+    Response<String> response = new Response<>();
+
+    response.setPayload(searchHandler.searchAsJson(input));
+    response.setStatus(Status.SUCCESS);
+
+    return response;
+  }
+
+  public Response<List<AggregationGroup>> aggregate(
+      Request<I> input, AggregationCriteria aggregation) {
+    Response<List<AggregationGroup>> response = new Response<>();
+
+    response.setPayload(searchHandler.aggregate(input, aggregation));
+    response.setStatus(Status.SUCCESS);
+
+    return response;
+  }
+
+  public Response<ChangeFeedPage<U>> changes(Request<I> input, String cursor) {
+    Response<ChangeFeedPage<U>> response = new Response<>();
+
+    response.setPayload(searchHandler.changes(input, cursor));
+    response.setStatus(Status.SUCCESS);
+
+    return response;
+  }
+
   protected abstract O getResponsePayload(SearchConditionPage<U> page);
 }
@@ -23,39 +23,84 @@ import com.epam.digital.data.platform.integration.ceph.service.CephService;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import com.epam.digital.data.platform.model.core.kafka.ResponseHeaders;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.epam.digital.data.platform.restapi.core.config.ContextPropagatingTaskDecorator;
+import com.epam.digital.data.platform.restapi.core.exception.InvalidPatchException;
 import com.epam.digital.data.platform.restapi.core.exception.KafkaCephResponseNotFoundException;
+import com.epam.digital.data.platform.restapi.core.exception.KafkaRequestRejectedException;
 import com.epam.digital.data.platform.restapi.core.exception.NoKafkaResponseException;
+import com.epam.digital.data.platform.restapi.core.idempotency.IdempotencyService;
+import com.epam.digital.data.platform.restapi.core.kafka.InFlightRequestRegistry;
+import com.epam.digital.data.platform.restapi.core.kafka.JsonPayloadCodec;
+import com.epam.digital.data.platform.restapi.core.kafka.PayloadCodec;
+import com.epam.digital.data.platform.restapi.core.kafka.PayloadCodecs;
+import com.epam.digital.data.platform.restapi.core.kafka.ReplyCorrelationEngine;
+import com.epam.digital.data.platform.restapi.core.kafka.ReplyPartitionAssignment;
+import com.epam.digital.data.platform.restapi.core.model.SerializedRequest;
+import com.epam.digital.data.platform.restapi.core.utils.RawJsonResponseReader;
 import com.epam.digital.data.platform.starter.kafka.config.properties.KafkaProperties;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 
-import java.util.Collections;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
 import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
 import org.springframework.kafka.support.KafkaHeaders;
 
 public abstract class GenericService<I, O> implements KafkaService<I, O> {
 
   static final String DIGITAL_SEAL_KAFKA_HEADER = "digital-seal";
+  public static final String PATCH_FORMAT_HEADER = "patch-format";
+  public static final String PATCH_ENTITY_ID_HEADER = "patch-entity-id";
+  public static final String MERGE_PATCH = "application/merge-patch+json";
+  public static final String JSON_PATCH = "application/json-patch+json";
+  private static final List<String> JSON_PATCH_OPERATIONS =
+      List.of("add", "remove", "replace", "move", "copy", "test");
+  private static final long REPLY_TIMEOUT_SECONDS = 30L;
+  private static final int DEFAULT_BULK_MAX_IN_FLIGHT = 50;
+  private static final TypeReference<Response<byte[]>> RAW_RESPONSE_TYPE =
+      new TypeReference<>() {};
 
   private final Logger log = LoggerFactory.getLogger(GenericService.class);
 
-  private final ReplyingKafkaTemplate<String, Request<I>, String> replyingKafkaTemplate;
+  private final ReplyingKafkaTemplate<String, Request<I>, ?> replyingKafkaTemplate;
   private final KafkaProperties.RequestReplyHandler topics;
 
   @Value("${data-platform.kafka-request.signing.enabled}")
   private boolean isSigningEnabled;
   @Value("${datafactory-response-ceph.bucket}")
   private String datafactoryResponseBucket;
+  @Value("${data-platform.kafka-request.bulk.max-in-flight:50}")
+  private int bulkMaxInFlight = DEFAULT_BULK_MAX_IN_FLIGHT;
 
   @Autowired
   private DigitalSignatureService digitalSignatureService;
@@ -64,69 +109,460 @@ public abstract class GenericService<I, O> implements KafkaService<I, O> {
   @Autowired
   private CephService datafactoryResponseCephService;
   @Autowired
+  private CephDeletionQueue datafactoryResponseDeletionQueue;
+  @Autowired
   private ObjectMapper objectMapper;
+  @Autowired
+  @Qualifier("kafkaResponseExecutor")
+  private Executor kafkaResponseExecutor;
+  @Autowired(required = false)
+  private IdempotencyService idempotencyService;
+  @Autowired(required = false)
+  private ReplyPartitionAssignment replyPartitionAssignment;
+  @Autowired(required = false)
+  private InFlightRequestRegistry inFlightRequestRegistry;
+  @Autowired(required = false)
+  private LargeRequestStorage largeRequestStorage;
+  @Autowired(required = false)
+  private ReplyCorrelationEngine replyCorrelationEngine;
+  @Autowired(required = false)
+  private PayloadCodecs payloadCodecs;
+  @Autowired(required = false)
+  private WriteStageTimer writeStageTimer;
+  @Autowired(required = false)
+  private ContextPropagatingTaskDecorator contextPropagatingTaskDecorator =
+      new ContextPropagatingTaskDecorator();
 
+  private volatile ObjectReader responseReader;
+  private volatile JavaType requestType;
+
+  /**
+   * Accepts templates with {@code String} or {@code byte[]} reply values. Replies consumed as
+   * {@code byte[]} are parsed as is, without an intermediate {@code String} copy.
+   */
   protected GenericService(
-      ReplyingKafkaTemplate<String, Request<I>, String> replyingKafkaTemplate,
+      ReplyingKafkaTemplate<String, Request<I>, ?> replyingKafkaTemplate,
       KafkaProperties.RequestReplyHandler topics) {
     this.replyingKafkaTemplate = replyingKafkaTemplate;
     this.topics = topics;
   }
 
   GenericService(
-      ReplyingKafkaTemplate<String, Request<I>, String> replyingKafkaTemplate,
+      ReplyingKafkaTemplate<String, Request<I>, ?> replyingKafkaTemplate,
       KafkaProperties.RequestReplyHandler topics,
       DigitalSignatureService digitalSignatureService,
       TraceProvider traceProvider,
       CephService datafactoryResponseCephService,
+      CephDeletionQueue datafactoryResponseDeletionQueue,
       ObjectMapper objectMapper,
+      Executor kafkaResponseExecutor,
       boolean isSigningEnabled,
       String datafactoryResponseBucket) {
     this(replyingKafkaTemplate, topics);
     this.digitalSignatureService = digitalSignatureService;
     this.traceProvider = traceProvider;
     this.datafactoryResponseCephService = datafactoryResponseCephService;
+    this.datafactoryResponseDeletionQueue = datafactoryResponseDeletionQueue;
     this.objectMapper = objectMapper;
+    this.kafkaResponseExecutor = kafkaResponseExecutor;
     this.isSigningEnabled = isSigningEnabled;
     this.datafactoryResponseBucket = datafactoryResponseBucket;
   }
 
+  @PostConstruct
+  void verifyReplyConfiguration() {
+    if (replyCorrelationEngine != null) {
+      replyCorrelationEngine.verifySender(replyingKafkaTemplate);
+    }
+    if (replyPartitionAssignment != null) {
+      replyPartitionAssignment.verifyReplyTopic(topics.getReply(), topic -> {
+        var partitions = replyingKafkaTemplate.partitionsFor(topic);
+        return partitions == null ? 0 : partitions.size();
+      });
+    }
+  }
+
   protected abstract TypeReference<Response<O>> type();
 
   @Override
   public Response<O> request(Request<I> input) {
-    var request = new ProducerRecord<>(topics.getRequest(), traceProvider.getRequestId(), input);
+    return withIdempotency(input, type(), () -> doRequest(input));
+  }
+
+  /**
+   * Same as {@link #request(Request)}, but the reply payload is not bound to {@code O}: only
+   * {@code status} and {@code details} are read and the payload is returned as raw JSON, to be
+   * written to the HTTP response as is.
+   */
+  @Override
+  public Response<byte[]> requestAsJson(Request<I> input) {
+    return withIdempotency(input, RAW_RESPONSE_TYPE, () -> {
+      var responseRecord = sendRequest(input, () -> buildRequest(input));
+      return readRawResponse(responseRecord);
+    });
+  }
+
+  /**
+   * Sends only the changed fields of an entity instead of the full {@code I}. The record value
+   * is a request whose payload is the patch document; kafka-api applies it to the current state
+   * of the entity identified by the {@value #PATCH_ENTITY_ID_HEADER} header, according to the
+   * {@value #PATCH_FORMAT_HEADER} header:
+   * <ul>
+   *   <li>{@value #MERGE_PATCH} - an object, RFC 7396 JSON Merge Patch;</li>
+   *   <li>{@value #JSON_PATCH} - an array of operations, RFC 6902 JSON Patch.</li>
+   * </ul>
+   * Signing and Ceph offloading apply to the patch document as to any other payload.
+   *
+   * <p>Only the structure of the document is checked here. The patched entity is not validated
+   * against the constraints of {@code I}, so kafka-api must validate it after applying the patch
+   * and before saving it.
+   */
+  @Override
+  public Response<O> requestPatch(Request<JsonNode> patch, Object entityId) {
+    var format = patchFormatOf(patch.getPayload());
+    var headers = new ArrayList<RecordHeader>();
+    headers.add(new RecordHeader(PATCH_FORMAT_HEADER, format.getBytes(UTF_8)));
+    headers.add(new RecordHeader(PATCH_ENTITY_ID_HEADER, entityId.toString().getBytes(UTF_8)));
+
+    @SuppressWarnings("unchecked")
+    var patchRequest = (Request<I>) (Request<?>) patch;
+    // the idempotency key is bound to the patched entity as well, not only to the patch document
+    var idempotencyInput = new Request<>(
+        objectMapper.createObjectNode()
+            .put("entityId", entityId.toString())
+            .set("patch", patch.getPayload()),
+        patch.getRequestContext(), patch.getSecurityContext());
+    return withIdempotency(idempotencyInput, type(), () -> {
+      var responseRecord = sendRequest(patchRequest, () -> buildRequest(patchRequest, headers));
+      return readResponse(responseRecord);
+    });
+  }
+
+  private String patchFormatOf(JsonNode patch) {
+    if (patch != null && patch.isObject()) {
+      return MERGE_PATCH;
+    }
+    if (patch != null && patch.isArray() && patch.size() > 0) {
+      for (JsonNode operation : patch) {
+        validatePatchOperation(operation);
+      }
+      return JSON_PATCH;
+    }
+    throw new InvalidPatchException(
+        "Patch must be a JSON Merge Patch object or a non-empty JSON Patch array");
+  }
+
+  private void validatePatchOperation(JsonNode operation) {
+    var op = operation.path("op");
+    if (!op.isTextual() || !JSON_PATCH_OPERATIONS.contains(op.asText())) {
+      throw new InvalidPatchException(
+          "JSON Patch operation must have op, one of " + JSON_PATCH_OPERATIONS);
+    }
+    if (!operation.path("path").isTextual()) {
+      throw new InvalidPatchException("JSON Patch operation must have path");
+    }
+    var name = op.asText();
+    if (Set.of("add", "replace", "test").contains(name) && !operation.has("value")) {
+      throw new InvalidPatchException("JSON Patch " + name + " operation must have value");
+    }
+    if (Set.of("move", "copy").contains(name) && !operation.path("from").isTextual()) {
+      throw new InvalidPatchException("JSON Patch " + name + " operation must have from");
+    }
+  }
+
+  private <R> Response<R> withIdempotency(
+      Request<?> input, TypeReference<Response<R>> type, Supplier<Response<R>> request) {
+    Optional<String> idempotencyKey = idempotencyService == null
+        ? Optional.empty()
+        : idempotencyService.getIdempotencyKey();
+    if (idempotencyKey.isPresent()) {
+      return idempotencyService.execute(
+          topics.getRequest(), idempotencyKey.get(), input, type, request);
+    }
+    return request.get();
+  }
+
+  private Response<O> doRequest(Request<I> input) {
+    var responseRecord = sendRequest(input, () -> buildRequest(input));
+    return readResponse(responseRecord);
+  }
 
-    if (isSigningEnabled) {
-      String digitalSeal = digitalSignatureService.sign(input);
-      String cephKey = digitalSignatureService.store(digitalSeal);
+  /**
+   * Sends the request without blocking the calling thread while the reply is pending. The
+   * reply is read on {@code kafkaResponseExecutor} with the MDC, security and trace context of
+   * the calling thread, so the future can be returned from a controller as is.
+   *
+   * <p>{@code Idempotency-Key} deduplication is not applied here (nor in
+   * {@link #requestBulk(List)}): endpoints that rely on it use {@link #request(Request)}.
+   */
+  @Override
+  public CompletableFuture<Response<O>> requestAsync(Request<I> input) {
+    var responseExecutor =
+        contextPropagatingTaskDecorator.withCurrentContext(kafkaResponseExecutor);
 
-      var signatureHeader = new RecordHeader(DIGITAL_SEAL_KAFKA_HEADER, cephKey.getBytes(UTF_8));
-      request.headers().add(signatureHeader);
+    // admitted before the request is built, so a rejected request leaves nothing in Ceph
+    InFlightRequestRegistry.Permit permit;
+    try {
+      permit = acquireInFlightPermit(topics.getRequest());
+    } catch (KafkaRequestRejectedException e) {
+      return CompletableFuture.failedFuture(e);
     }
 
-    var responseRecord = sendRequest(input, request);
+    ProducerRecord<String, Request<I>> request;
+    try {
+      request = buildRequest(input);
+    } catch (RuntimeException e) {
+      releaseInFlightPermit(permit);
+      throw e;
+    }
 
+    log.info("Sending to Kafka asynchronously, topic {}", request.topic());
+    CompletableFuture<? extends ConsumerRecord<String, ?>> replyFuture;
+    var sendStart = System.nanoTime();
+    // the reply completes on the Kafka consumer thread, which is not in the request's span
+    var requestSpan = writeStageTimer == null ? null : writeStageTimer.currentSpan();
+    try {
+      if (replyCorrelationEngine != null) {
+        replyFuture = replyCorrelationEngine.sendAndReceive(
+            replyingKafkaTemplate, request, Duration.ofSeconds(REPLY_TIMEOUT_SECONDS));
+      } else {
+        replyFuture = replyingKafkaTemplate.sendAndReceive(request).completable();
+      }
+    } catch (RuntimeException e) {
+      releaseInFlightPermit(permit);
+      deleteOffloadedRequest(request);
+      throw e;
+    }
+    return replyFuture
+        .orTimeout(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        .handle((response, e) -> {
+          releaseInFlightPermit(permit);
+          if (writeStageTimer != null) {
+            writeStageTimer.record(request.topic(), WriteStageTimer.KAFKA_ROUND_TRIP,
+                System.nanoTime() - sendStart, requestSpan);
+          }
+          if (e != null) {
+            throw new NoKafkaResponseException("No response for request: " + input, e);
+          }
+          return response;
+        })
+        .whenCompleteAsync((response, e) -> {
+          if (e != null) {
+            deleteOffloadedRequest(request);
+          }
+        }, responseExecutor)
+        .thenApplyAsync(response -> {
+          log.info(
+              "Successfully got response from Kafka, topic: {}, key: {}",
+              response.topic(),
+              response.key());
+          return readResponse(response);
+        }, responseExecutor)
+        .handle(this::rejectedAsUnavailable);
+  }
+
+  /**
+   * A reply that {@code kafkaResponseExecutor} has no room for is reported like a request that
+   * was not admitted, instead of failing with a bare {@link RejectedExecutionException}.
+   */
+  private Response<O> rejectedAsUnavailable(Response<O> response, Throwable e) {
+    if (e == null) {
+      return response;
+    }
+    var cause = e instanceof CompletionException ? e.getCause() : e;
+    if (cause instanceof RejectedExecutionException) {
+      log.error("Kafka response executor is saturated", cause);
+      throw new KafkaRequestRejectedException("Kafka response executor is saturated");
+    }
+    throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+  }
+
+  /**
+   * Sends the requests as a pipelined group: up to {@code bulkMaxInFlight} requests wait for
+   * their replies at the same time. Responses are returned in the order of the requests; an item
+   * that could not be sent, got no reply or was not admitted is reported with
+   * {@link Status#THIRD_PARTY_SERVICE_UNAVAILABLE}. Items are not deduplicated by
+   * {@code Idempotency-Key}.
+   */
+  @Override
+  public List<Response<O>> requestBulk(List<Request<I>> inputs) {
+    var inFlight = new Semaphore(bulkMaxInFlight);
+    var replies = new ArrayList<CompletableFuture<Response<O>>>(inputs.size());
+    log.info("Sending bulk of {} requests to Kafka", inputs.size());
+    for (Request<I> input : inputs) {
+      inFlight.acquireUninterruptibly();
+      CompletableFuture<Response<O>> reply;
+      try {
+        reply = requestAsync(input);
+      } catch (RuntimeException e) {
+        // the item was not sent, the rest of the bulk still goes on
+        inFlight.release();
+        log.error("Bulk item was not sent", e);
+        replies.add(CompletableFuture.completedFuture(unavailableBulkItem(e)));
+        continue;
+      }
+      reply.whenComplete((response, e) -> inFlight.release());
+      replies.add(reply);
+    }
+    return replies.stream().map(this::joinBulkItem).collect(Collectors.toList());
+  }
+
+  private Response<O> joinBulkItem(CompletableFuture<Response<O>> reply) {
+    try {
+      return reply.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof NoKafkaResponseException
+          || e.getCause() instanceof KafkaRequestRejectedException) {
+        log.error("No response for bulk item", e.getCause());
+        return unavailableBulkItem(e.getCause());
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private Response<O> unavailableBulkItem(Throwable cause) {
+    Response<O> response = new Response<>();
+    response.setStatus(Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
+    response.setDetails(cause.getMessage());
+    return response;
+  }
+
+  private ProducerRecord<String, Request<I>> buildRequest(Request<I> input) {
+    return buildRequest(input, new ArrayList<>());
+  }
+
+  private ProducerRecord<String, Request<I>> buildRequest(
+      Request<I> input, List<RecordHeader> headers) {
+    Request<I> value = input;
+
+    // patch documents are not bound to the schema of I and always travel as JSON
+    var patch = headers.stream().anyMatch(h -> PATCH_FORMAT_HEADER.equals(h.key()));
+    var binary = !patch && payloadCodecs != null && payloadCodecs.isBinaryWriter();
+    var claimCheck = largeRequestStorage != null && largeRequestStorage.isEnabled();
+    if (isSigningEnabled || claimCheck || binary) {
+      // the sealed bytes are sent as the record value as is
+      var serializedInput = binary ? encode(input) : SerializedRequest.of(input, objectMapper);
+      value = serializedInput;
+
+      if (isSigningEnabled) {
+        // the seal covers the bytes of the request as written by the configured codec
+        var sealedInput = serializedInput.getSerialized();
+        String digitalSeal = timed(WriteStageTimer.SEAL_SIGN, () -> binary
+            ? digitalSignatureService.signBinary(sealedInput)
+            : digitalSignatureService.signSerialized(sealedInput));
+        String cephKey = timed(WriteStageTimer.SEAL_STORE,
+            () -> digitalSignatureService.store(digitalSeal));
+        headers.add(new RecordHeader(DIGITAL_SEAL_KAFKA_HEADER, cephKey.getBytes(UTF_8)));
+      }
+      if (claimCheck && largeRequestStorage.exceedsThreshold(serializedInput.getSerialized())) {
+        String requestKey = timed(WriteStageTimer.REQUEST_OFFLOAD, () -> binary
+            ? largeRequestStorage.store(
+                serializedInput.getSerialized(), payloadCodecs.getWriter().getContentType())
+            : largeRequestStorage.store(serializedInput.getSerialized()));
+        headers.add(new RecordHeader(
+            LargeRequestStorage.CEPH_REQUEST_KEY_HEADER, requestKey.getBytes(UTF_8)));
+        if (largeRequestStorage.isCompressionEnabled()) {
+          headers.add(new RecordHeader(LargeRequestStorage.CEPH_REQUEST_ENCODING_HEADER,
+              LargeRequestStorage.GZIP.getBytes(UTF_8)));
+        }
+        var claimCheckInput =
+            new Request<I>(null, input.getRequestContext(), input.getSecurityContext());
+        value = binary ? encode(claimCheckInput) : claimCheckInput;
+      }
+      if (binary) {
+        var writer = payloadCodecs.getWriter();
+        headers.add(new RecordHeader(PayloadCodec.HEADER, writer.getName().getBytes(UTF_8)));
+        writer.schemaFingerprint(requestType()).ifPresent(fingerprint -> headers.add(
+            new RecordHeader(PayloadCodec.SCHEMA_HEADER, fingerprint.getBytes(UTF_8))));
+      }
+    }
+
+    var request = new ProducerRecord<>(topics.getRequest(), traceProvider.getRequestId(), value);
+    headers.forEach(request.headers()::add);
+
+    var header = new RecordHeader(KafkaHeaders.REPLY_TOPIC, topics.getReply().getBytes());
+    request.headers().add(header);
+    if (replyPartitionAssignment != null) {
+      request.headers().add(new RecordHeader(
+          KafkaHeaders.REPLY_PARTITION, replyPartitionAssignment.nextPartitionHeader()));
+    }
+    return request;
+  }
+
+  private Response<O> readResponse(ConsumerRecord<String, ?> responseRecord) {
     var cephResponseKeyHeaderValue =
         getKafkaHeader(responseRecord, ResponseHeaders.CEPH_RESPONSE_KEY);
     if (cephResponseKeyHeaderValue.isPresent()) {
       log.info("Reading large response from Ceph");
-      return getResponseFromStorage(cephResponseKeyHeaderValue.get());
-    } else {
-      return fromString(responseRecord.value());
+      return getResponseFromStorage(
+          cephResponseKeyHeaderValue.get(), content -> responseReader().readValue(content));
+    }
+    var replyCodec = getBinaryReplyCodec(responseRecord);
+    if (replyCodec.isPresent()) {
+      return decodeBinaryReply(replyCodec.get(), responseRecord);
     }
+    return fromValue(responseRecord.value());
   }
 
-  private ConsumerRecord<String, String> sendRequest(
-      Request<I> input, ProducerRecord<String, Request<I>> request) {
-    var header = new RecordHeader(KafkaHeaders.REPLY_TOPIC, topics.getReply().getBytes());
-    request.headers().add(header);
+  private Response<byte[]> readRawResponse(ConsumerRecord<String, ?> responseRecord) {
+    var jsonFactory = objectMapper.getFactory();
+    var cephResponseKeyHeaderValue =
+        getKafkaHeader(responseRecord, ResponseHeaders.CEPH_RESPONSE_KEY);
+    if (cephResponseKeyHeaderValue.isPresent()) {
+      log.info("Reading large response from Ceph");
+      return getResponseFromStorage(cephResponseKeyHeaderValue.get(),
+          content -> RawJsonResponseReader.read(jsonFactory, content));
+    }
+    var replyCodec = getBinaryReplyCodec(responseRecord);
+    if (replyCodec.isPresent()) {
+      return toRawResponse(decodeBinaryReply(replyCodec.get(), responseRecord));
+    }
+    var value = responseRecord.value();
+    if (value instanceof byte[]) {
+      return RawJsonResponseReader.read(jsonFactory, (byte[]) value);
+    }
+    return RawJsonResponseReader.read(jsonFactory, (String) value);
+  }
 
-    log.info("Sending to Kafka, topic {}", request.topic());
-    var replyFuture = replyingKafkaTemplate.sendAndReceive(request);
+  private ConsumerRecord<String, ?> sendRequest(
+      Request<I> input, Supplier<ProducerRecord<String, Request<I>>> requestBuilder) {
+    // admitted before the request is built, so a rejected request leaves nothing in Ceph
+    try (var permit = acquireInFlightPermit(topics.getRequest())) {
+      var request = requestBuilder.get();
+      log.info("Sending to Kafka, topic {}", request.topic());
+      try {
+        return timed(WriteStageTimer.KAFKA_ROUND_TRIP, () -> {
+          if (replyCorrelationEngine != null) {
+            return awaitResponse(input, replyCorrelationEngine.sendAndReceive(
+                replyingKafkaTemplate, request, Duration.ofSeconds(REPLY_TIMEOUT_SECONDS)));
+          }
+          return awaitResponse(input, replyingKafkaTemplate.sendAndReceive(request));
+        });
+      } catch (RuntimeException e) {
+        deleteOffloadedRequest(request);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Removes the claim-check object of a request that was not sent or got no reply. Once a reply
+   * is received, the object is kafka-api's to delete.
+   */
+  private void deleteOffloadedRequest(ProducerRecord<String, Request<I>> request) {
+    var requestKey = request.headers().lastHeader(LargeRequestStorage.CEPH_REQUEST_KEY_HEADER);
+    if (requestKey != null) {
+      largeRequestStorage.delete(new String(requestKey.value(), UTF_8));
+    }
+  }
 
+  private ConsumerRecord<String, ?> awaitResponse(
+      Request<I> input, Future<? extends ConsumerRecord<String, ?>> replyFuture) {
     try {
-      var response = replyFuture.get(30L, TimeUnit.SECONDS);
+      var response = replyFuture.get(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
       log.info(
           "Successfully got response from Kafka, topic: {}, key: {}",
           response.topic(),
@@ -137,33 +573,132 @@ public abstract class GenericService<I, O> implements KafkaService<I, O> {
     }
   }
 
-  private Response<O> getResponseFromStorage(String key) {
-    var responseContent =
+  private InFlightRequestRegistry.Permit acquireInFlightPermit(String topic) {
+    return inFlightRequestRegistry == null ? null : inFlightRequestRegistry.acquire(topic);
+  }
+
+  private void releaseInFlightPermit(InFlightRequestRegistry.Permit permit) {
+    if (permit != null) {
+      permit.close();
+    }
+  }
+
+  private <R> Response<R> getResponseFromStorage(String key, StorageContentReader<R> reader) {
+    return timed(WriteStageTimer.CEPH_RESPONSE_READ, () -> readFromStorage(key, reader));
+  }
+
+  private <R> Response<R> readFromStorage(String key, StorageContentReader<R> reader) {
+    var cephObject =
         datafactoryResponseCephService
-            .getAsString(datafactoryResponseBucket, key)
+            .get(datafactoryResponseBucket, key)
             .orElseThrow(
                 () ->
                     new KafkaCephResponseNotFoundException(
                         "Kafka response does not exist in ceph bucket"));
 
-    deleteProcessedContentFromStorage(key);
-    return fromString(responseContent);
+    try (InputStream content = cephObject.getContent()) {
+      return reader.read(content);
+    } catch (IOException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    } finally {
+      // the response is consumed once, whether it could be parsed or not
+      datafactoryResponseDeletionQueue.enqueue(key);
+    }
   }
 
-  private Response<O> fromString(String content) {
+  private <T> T timed(String stage, Supplier<T> action) {
+    return writeStageTimer == null
+        ? action.get()
+        : writeStageTimer.record(topics.getRequest(), stage, action);
+  }
+
+  private Response<O> fromValue(Object value) {
     try {
-      return objectMapper.readValue(content, type());
-    } catch (JsonProcessingException e) {
+      if (value instanceof byte[]) {
+        return responseReader().readValue((byte[]) value);
+      }
+      return responseReader().readValue((String) value);
+    } catch (IOException e) {
       throw new RuntimeJsonMappingException(e.getMessage());
     }
   }
 
-  private void deleteProcessedContentFromStorage(String key) {
-    try {
-      log.info("Deleting large payload from Ceph");
-      datafactoryResponseCephService.delete(datafactoryResponseBucket, Collections.singleton(key));
-    } catch (Exception e) {
-      log.error("Exception while deleting processed message from ceph", e);
+  private Optional<PayloadCodec> getBinaryReplyCodec(ConsumerRecord<String, ?> responseRecord) {
+    return getKafkaHeader(responseRecord, PayloadCodec.HEADER)
+        .filter(name -> !JsonPayloadCodec.NAME.equals(name))
+        .map(name -> Optional.ofNullable(payloadCodecs)
+            .flatMap(codecs -> codecs.forName(name))
+            .orElseThrow(() -> new RuntimeJsonMappingException(
+                "Unsupported Kafka reply codec: " + name)));
+  }
+
+  private Response<O> decodeBinaryReply(
+      PayloadCodec codec, ConsumerRecord<String, ?> responseRecord) {
+    var type = responseType();
+    var replySchema = getKafkaHeader(responseRecord, PayloadCodec.SCHEMA_HEADER);
+    if (replySchema.isPresent() && !codec.schemaFingerprint(type).equals(replySchema)) {
+      throw new RuntimeJsonMappingException(
+          "Kafka reply schema " + replySchema.get() + " does not match the local schema of "
+              + type + ", the peer is on a different DTO version");
+    }
+    return codec.decode(getBinaryReply(responseRecord), type);
+  }
+
+  private byte[] getBinaryReply(ConsumerRecord<String, ?> responseRecord) {
+    if (!(responseRecord.value() instanceof byte[])) {
+      throw new RuntimeJsonMappingException(
+          "Binary Kafka reply can only be read by a byte[] reply template");
+    }
+    return (byte[]) responseRecord.value();
+  }
+
+  private Response<byte[]> toRawResponse(Response<O> response) {
+    var rawResponse = new Response<byte[]>();
+    rawResponse.setStatus(response.getStatus());
+    rawResponse.setDetails(response.getDetails());
+    if (response.getPayload() != null) {
+      try {
+        rawResponse.setPayload(objectMapper.writeValueAsBytes(response.getPayload()));
+      } catch (JsonProcessingException e) {
+        throw new RuntimeJsonMappingException(e.getMessage());
+      }
+    }
+    return rawResponse;
+  }
+
+  private SerializedRequest<I> encode(Request<I> request) {
+    return SerializedRequest.of(request, payloadCodecs.getWriter().encode(request, requestType()));
+  }
+
+  private JavaType requestType() {
+    var type = requestType;
+    if (type == null) {
+      var inputType = ResolvableType.forClass(getClass())
+          .as(GenericService.class)
+          .getGeneric(0)
+          .resolve(Object.class);
+      type = objectMapper.getTypeFactory().constructParametricType(Request.class, inputType);
+      requestType = type;
+    }
+    return type;
+  }
+
+  private JavaType responseType() {
+    return objectMapper.getTypeFactory().constructType(type());
+  }
+
+  private ObjectReader responseReader() {
+    var reader = responseReader;
+    if (reader == null) {
+      reader = objectMapper.readerFor(type());
+      responseReader = reader;
     }
+    return reader;
+  }
+
+  @FunctionalInterface
+  private interface StorageContentReader<R> {
+
+    Response<R> read(InputStream content) throws IOException;
   }
 }
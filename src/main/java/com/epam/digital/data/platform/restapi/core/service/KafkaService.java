@@ -18,8 +18,19 @@ package com.epam.digital.data.platform.restapi.core.service;
 
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface KafkaService<I, O> {
 
   Response<O> request(Request<I> input);
+
+  Response<byte[]> requestAsJson(Request<I> input);
+
+  Response<O> requestPatch(Request<JsonNode> patch, Object entityId);
+
+  CompletableFuture<Response<O>> requestAsync(Request<I> input);
+
+  List<Response<O>> requestBulk(List<Request<I>> inputs);
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.service;
+
+import com.epam.digital.data.platform.integration.ceph.service.CephService;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores serialized Kafka requests above {@code threshold} bytes in the datafactory Ceph bucket,
+ * so that only the object key travels through Kafka. The counterpart of the
+ * {@code CEPH_RESPONSE_KEY} reply header for outbound requests.
+ *
+ * <p>Ownership of a stored object: kafka-api deletes it once it has read the request, whatever
+ * the outcome. If the request could not be sent or no reply arrived in time, this service deletes
+ * it instead; kafka-api must then treat a request whose object is missing as cancelled.
+ */
+@Component
+public class LargeRequestStorage {
+
+  public static final String CEPH_REQUEST_KEY_HEADER = "ceph-request-key";
+  public static final String CEPH_REQUEST_ENCODING_HEADER = "ceph-request-encoding";
+  static final String GZIP = "gzip";
+
+  private static final String PREFIX = "datafactory-request-";
+  private static final String CONTENT_TYPE = "application/json";
+
+  private final Logger log = LoggerFactory.getLogger(LargeRequestStorage.class);
+
+  private final CephService datafactoryCephService;
+  private final String datafactoryBucket;
+  private final int threshold;
+  private final boolean compressionEnabled;
+
+  public LargeRequestStorage(
+      CephService datafactoryCephService,
+      @Value("${datafactoryceph.bucket}") String datafactoryBucket,
+      @Value("${data-platform.kafka-request.claim-check.threshold:0}") int threshold,
+      @Value("${data-platform.kafka-request.claim-check.compression:false}")
+          boolean compressionEnabled) {
+    this.datafactoryCephService = datafactoryCephService;
+    this.datafactoryBucket = datafactoryBucket;
+    this.threshold = threshold;
+    this.compressionEnabled = compressionEnabled;
+  }
+
+  public boolean isEnabled() {
+    return threshold > 0;
+  }
+
+  public boolean exceedsThreshold(byte[] serialized) {
+    return isEnabled() && serialized.length > threshold;
+  }
+
+  public boolean isCompressionEnabled() {
+    return compressionEnabled;
+  }
+
+  public String store(byte[] serialized) {
+    return store(serialized, CONTENT_TYPE);
+  }
+
+  public String store(byte[] serialized, String contentType) {
+    var key = PREFIX + UUID.randomUUID();
+    var content = compressionEnabled ? gzip(serialized) : serialized;
+    Map<String, String> metadata =
+        compressionEnabled ? Map.of("content-encoding", GZIP) : Map.of();
+
+    log.info("Storing large request to Ceph, {} bytes", content.length);
+    log.debug("Generated key: {}", key);
+    datafactoryCephService.put(
+        datafactoryBucket, key, contentType, metadata, new ByteArrayInputStream(content));
+    return key;
+  }
+
+  /**
+   * Best-effort removal of an object stored by {@link #store(byte[], String)}; a failure is only
+   * logged, so that it does not hide the error of the request itself.
+   */
+  public void delete(String key) {
+    try {
+      datafactoryCephService.delete(datafactoryBucket, Set.of(key));
+      log.debug("Deleted unsent large request {}", key);
+    } catch (RuntimeException e) {
+      log.warn("Cannot delete unsent large request {} from Ceph", key, e);
+    }
+  }
+
+  private byte[] gzip(byte[] content) {
+    var compressed = new ByteArrayOutputStream(content.length / 4);
+    try (var gzip = new GZIPOutputStream(compressed)) {
+      gzip.write(content);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return compressed.toByteArray();
+  }
+}
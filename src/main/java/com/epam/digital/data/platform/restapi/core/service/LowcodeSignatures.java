@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.service;
+
+import com.epam.digital.data.platform.restapi.core.exception.DigitalSignatureNotFoundException;
+import com.epam.digital.data.platform.storage.form.dto.FormDataDto;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Signatures of a modifying request read from lowcode storage in one pass. A failed or missing
+ * read is reported only when the signature is used, so the errors are the same as with reading
+ * each signature right before it is needed.
+ */
+public class LowcodeSignatures {
+
+  private final Map<String, CompletableFuture<Optional<FormDataDto>>> reads;
+
+  LowcodeSignatures(Map<String, CompletableFuture<Optional<FormDataDto>>> reads) {
+    this.reads = reads;
+  }
+
+  FormDataDto get(String key) {
+    Optional<FormDataDto> formData;
+    try {
+      formData = reads.get(key).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+    return formData.orElseThrow(() ->
+        new DigitalSignatureNotFoundException("Signature does not exist in lowcode storage"));
+  }
+}
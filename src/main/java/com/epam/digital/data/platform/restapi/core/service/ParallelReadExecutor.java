@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs two read queries at the same time on two pooled connections. The first query runs on the
+ * calling thread, the second one on the bounded {@code parallelSearchExecutor}.
+ *
+ * <p>With {@code data-platform.search.parallel-count.consistency=snapshot} both queries see the
+ * same data: the calling thread exports its repeatable read snapshot and the second query imports
+ * it. Otherwise each query gets its own read committed view.
+ *
+ * <p>The second query is handed to a worker only as long as the worker can start it before the
+ * first query is done; after that the calling thread runs it itself on its own connection.
+ */
+@Component
+public class ParallelReadExecutor {
+
+  static final String SNAPSHOT_CONSISTENCY = "snapshot";
+
+  private final DSLContext context;
+  private final Executor parallelSearchExecutor;
+  private final TransactionTemplate readCommittedTemplate;
+  private final TransactionTemplate repeatableReadTemplate;
+  private final boolean enabled;
+  private final boolean snapshotConsistency;
+
+  public ParallelReadExecutor(
+      DSLContext context,
+      PlatformTransactionManager transactionManager,
+      @Qualifier("parallelSearchExecutor") Executor parallelSearchExecutor,
+      @Value("${data-platform.search.parallel-count.enabled:false}") boolean enabled,
+      @Value("${data-platform.search.parallel-count.consistency:read-committed}")
+          String consistency) {
+    this.context = context;
+    this.parallelSearchExecutor = parallelSearchExecutor;
+    this.readCommittedTemplate = readOnlyTemplate(
+        transactionManager, TransactionDefinition.ISOLATION_DEFAULT);
+    this.repeatableReadTemplate = readOnlyTemplate(
+        transactionManager, TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.enabled = enabled;
+    this.snapshotConsistency = SNAPSHOT_CONSISTENCY.equals(consistency);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public <A, B> Pair<A, B> execute(Supplier<A> first, Supplier<B> second) {
+    if (snapshotConsistency) {
+      return repeatableReadTemplate.execute(status -> {
+        var snapshotId = context
+            .select(DSL.field("pg_export_snapshot()", String.class))
+            .fetchOne(0, String.class);
+        var claimed = new AtomicBoolean();
+        var secondResult = CompletableFuture.supplyAsync(
+            () -> repeatableReadTemplate.execute(s -> {
+              if (!claimed.compareAndSet(false, true)) {
+                return null;
+              }
+              context.execute("set transaction snapshot {0}", DSL.inline(snapshotId));
+              return second.get();
+            }),
+            parallelSearchExecutor);
+        var firstResult = first.get();
+        // the exporting transaction must stay open until the snapshot is imported
+        return Pair.of(firstResult, joinOrRunHere(secondResult, claimed, second));
+      });
+    }
+
+    var claimed = new AtomicBoolean();
+    var secondResult = CompletableFuture.supplyAsync(
+        () -> readCommittedTemplate.execute(
+            s -> claimed.compareAndSet(false, true) ? second.get() : null),
+        parallelSearchExecutor);
+    var firstResult = first.get();
+    return Pair.of(firstResult, joinOrRunHere(secondResult, claimed, second));
+  }
+
+  /**
+   * Joins the second query only if a worker has already got a connection for it. Otherwise runs
+   * it on the calling thread, so a caller never holds its connection while waiting for a second
+   * one, which could exhaust the pool under load. A worker that gets its connection later sees
+   * the query claimed and releases the connection right away.
+   */
+  private <T> T joinOrRunHere(
+      CompletableFuture<T> future, AtomicBoolean claimed, Supplier<T> query) {
+    if (claimed.compareAndSet(false, true)) {
+      return query.get();
+    }
+    return join(future);
+  }
+
+  private <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private TransactionTemplate readOnlyTemplate(
+      PlatformTransactionManager transactionManager, int isolationLevel) {
+    var template = new TransactionTemplate(transactionManager);
+    template.setReadOnly(true);
+    template.setIsolationLevel(isolationLevel);
+    template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    return template;
+  }
+}
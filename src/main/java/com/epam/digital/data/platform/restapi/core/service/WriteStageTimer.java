@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the duration of the stages of the write pipeline, from signature verification in the
+ * filter to reading the reply from Ceph. Each stage is a histogram tagged by request topic and
+ * stage and is also added as a {@code write.stage.<stage>.ms} tag to the current trace span.
+ */
+@Component
+public class WriteStageTimer {
+
+  static final String METRIC = "data_platform_write_stage_duration";
+  static final String SPAN_TAG_PREFIX = "write.stage.";
+
+  /** Topic tag of the stages that run before the request is routed to a topic. */
+  public static final String NO_TOPIC = "none";
+
+  public static final String SIGNATURE_READ = "signature-read";
+  public static final String SIGNATURE_VERIFICATION = "signature-verification";
+  public static final String SIGNATURE_COPY = "signature-copy";
+  public static final String SEAL_SIGN = "seal-sign";
+  public static final String SEAL_STORE = "seal-store";
+  public static final String REQUEST_OFFLOAD = "request-offload";
+  public static final String KAFKA_ROUND_TRIP = "kafka-round-trip";
+  public static final String CEPH_RESPONSE_READ = "ceph-response-read";
+
+  private final MeterRegistry meterRegistry;
+  private final Optional<Tracer> tracer;
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  public WriteStageTimer(MeterRegistry meterRegistry, Optional<Tracer> tracer) {
+    this.meterRegistry = meterRegistry;
+    this.tracer = tracer;
+  }
+
+  public <T> T record(String topic, String stage, Supplier<T> action) {
+    var start = System.nanoTime();
+    try {
+      return action.get();
+    } finally {
+      record(topic, stage, System.nanoTime() - start);
+    }
+  }
+
+  public void record(String topic, String stage, Runnable action) {
+    record(topic, stage, () -> {
+      action.run();
+      return null;
+    });
+  }
+
+  public void record(String topic, String stage, long nanos) {
+    record(topic, stage, nanos, currentSpan());
+  }
+
+  /**
+   * Records a stage that ends on another thread than the one it started on, tagging the span
+   * taken with {@link #currentSpan()} when the stage started; a {@code null} span is not tagged.
+   */
+  public void record(String topic, String stage, long nanos, Span span) {
+    timers.computeIfAbsent(topic + '/' + stage, key -> Timer.builder(METRIC)
+            .tags("topic", topic, "stage", stage)
+            .publishPercentileHistogram()
+            .register(meterRegistry))
+        .record(nanos, TimeUnit.NANOSECONDS);
+    if (span != null) {
+      span.tag(SPAN_TAG_PREFIX + stage + ".ms",
+          String.valueOf(TimeUnit.NANOSECONDS.toMillis(nanos)));
+    }
+  }
+
+  public Span currentSpan() {
+    return tracer.map(Tracer::currentSpan).orElse(null);
+  }
+}
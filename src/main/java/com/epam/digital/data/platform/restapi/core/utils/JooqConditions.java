@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.utils;
+
+import java.util.Collection;
+import org.jooq.Condition;
+import org.jooq.DataType;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+
+/**
+ * Condition builders for search handlers. List criteria are bound as a single array parameter
+ * ({@code field = any(?)}) instead of {@code field in (?, ?, ...)}, so the statement text does
+ * not depend on the list size and prepared statements and plans can be reused.
+ */
+public final class JooqConditions {
+
+  private JooqConditions() {}
+
+  /**
+   * Matches the field against any of the values. The values are bound as an array literal of
+   * unspecified type (see {@link JooqDataTypes#UNTYPED_ARRAY_DATA_TYPE}), which PostgreSQL
+   * casts to the array type of the field's own column, so uuid, varchar and enum columns are
+   * compared with their own types and can use their indexes.
+   */
+  public static Condition eqAny(Field<?> field, Collection<?> values) {
+    return eqAny(field, values, JooqDataTypes.UNTYPED_ARRAY_DATA_TYPE);
+  }
+
+  /**
+   * Matches the field against any of the values bound as one array of the given type.
+   */
+  @SuppressWarnings("unchecked")
+  public static Condition eqAny(Field<?> field, Collection<?> values, DataType<?> arrayDataType) {
+    if (values == null) {
+      return DSL.noCondition();
+    }
+    if (values.isEmpty()) {
+      return DSL.falseCondition();
+    }
+    var array = DSL.val(values.toArray(), (DataType<Object>) arrayDataType);
+    return DSL.condition("{0} = any({1})", field, array);
+  }
+}
@@ -17,6 +17,7 @@
 package com.epam.digital.data.platform.restapi.core.utils;
 
 import com.epam.digital.data.platform.model.core.kafka.File;
+import com.epam.digital.data.platform.restapi.core.converter.jooq.ArrayLiteralBinding;
 import com.epam.digital.data.platform.restapi.core.converter.jooq.FileConverter;
 import com.epam.digital.data.platform.restapi.core.converter.jooq.FileListConverter;
 import java.util.List;
@@ -35,5 +36,8 @@ public final class JooqDataTypes {
   public static final DataType<Object[]> ARRAY_DATA_TYPE =
       DefaultDataType.getDefaultDataType("java.util.Collection").getArrayDataType();
 
+  public static final DataType<Object[]> UNTYPED_ARRAY_DATA_TYPE =
+      SQLDataType.VARCHAR.asConvertedDataType(new ArrayLiteralBinding());
+
   private JooqDataTypes() {}
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.utils;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record1;
+import org.jooq.Select;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.impl.DSL;
+import org.jooq.tools.StringUtils;
+
+public final class JsonQueryUtils {
+
+  static final String ROW_ALIAS = "ddm_row";
+
+  /**
+   * Java types PostgreSQL renders to JSON exactly as Jackson does. Everything else (dates and
+   * times, decimals, floating point, files and other composite types) is formatted differently
+   * or goes through a jOOQ converter.
+   */
+  private static final Set<Class<?>> AS_IS_TYPES = Set.of(
+      String.class, Boolean.class, boolean.class, Short.class, short.class,
+      Integer.class, int.class, Long.class, long.class, UUID.class);
+
+  private JsonQueryUtils() {}
+
+  /**
+   * Wraps the query into a select that returns all its rows as a single JSON array text
+   * rendered by the database.
+   */
+  public static Select<Record1<String>> jsonArrayOf(DSLContext context, Select<?> rows) {
+    return context
+        .select(DSL.field(
+            "cast(coalesce(json_agg({0}), cast('[]' as json)) as text)",
+            String.class, DSL.name(ROW_ALIAS)))
+        .from(rows.asTable(ROW_ALIAS));
+  }
+
+  /**
+   * Wraps the query into a select that returns each row as a JSON object text rendered by the
+   * database.
+   */
+  public static Select<Record1<String>> jsonObjectOf(DSLContext context, Select<?> row) {
+    return context
+        .select(DSL.field("cast(row_to_json({0}) as text)", String.class, DSL.name(ROW_ALIAS)))
+        .from(row.asTable(ROW_ALIAS));
+  }
+
+  /**
+   * Maps the selected columns onto the JSON properties of the DTO, so the database renders the
+   * same document as the DTO serialization would. A column is matched to the DTO property the
+   * record mapper fills from it (the camelCase form of the column name) and aliased to the
+   * property's JSON name; DTO properties without a column are rendered as {@code null}, columns
+   * without a DTO property are dropped, and properties follow the DTO serialization order.
+   *
+   * @return the aliased fields, or empty when some property would not be rendered by the
+   * database exactly as by the given mapper: values that go through a converter (files,
+   * dates and times, decimals), custom serializers or formats, enums with custom names,
+   * non-default inclusion rules, unnamed (asterisk) fields
+   */
+  public static Optional<List<SelectFieldOrAsterisk>> dtoFields(
+      ObjectMapper mapper, Class<?> dtoType, List<SelectFieldOrAsterisk> fields) {
+    var columns = new HashMap<String, Field<?>>();
+    for (var field : fields) {
+      if (!(field instanceof Field)) {
+        return Optional.empty();
+      }
+      var column = (Field<?>) field;
+      columns.put(StringUtils.toCamelCaseLC(column.getName()), column);
+    }
+
+    var config = mapper.getSerializationConfig();
+    BeanDescription description = config.introspect(config.constructType(dtoType));
+    var inclusion =
+        description.findPropertyInclusion(config.getDefaultPropertyInclusion(dtoType));
+    var result = new ArrayList<SelectFieldOrAsterisk>();
+    for (BeanPropertyDefinition property : description.findProperties()) {
+      if (!property.couldSerialize()) {
+        continue;
+      }
+      var column = columns.get(property.getInternalName());
+      if (!isRenderedAsIs(mapper, property, inclusion, column != null)) {
+        return Optional.empty();
+      }
+      result.add(column != null
+          ? column.as(property.getName())
+          : DSL.inline((Object) null).as(property.getName()));
+    }
+    return Optional.of(result);
+  }
+
+  private static boolean isRenderedAsIs(ObjectMapper mapper, BeanPropertyDefinition property,
+      JsonInclude.Value defaultInclusion, boolean selected) {
+    var type = property.getRawPrimaryType();
+    var valueInclusion =
+        defaultInclusion.withOverrides(property.findInclusion()).getValueInclusion();
+    if (valueInclusion != JsonInclude.Include.ALWAYS
+        && valueInclusion != JsonInclude.Include.USE_DEFAULTS) {
+      return false;
+    }
+    if (!selected) {
+      return !type.isPrimitive();
+    }
+    var introspector = mapper.getSerializationConfig().getAnnotationIntrospector();
+    var accessor = property.getAccessor();
+    if (introspector.findSerializer(accessor) != null) {
+      return false;
+    }
+    var format = introspector.findFormat(accessor);
+    if (format != null && format.getShape() != JsonFormat.Shape.ANY) {
+      return false;
+    }
+    if (type.isEnum()) {
+      return hasPlainNames(mapper, type);
+    }
+    return AS_IS_TYPES.contains(type);
+  }
+
+  private static boolean hasPlainNames(ObjectMapper mapper, Class<?> enumType) {
+    for (Object constant : enumType.getEnumConstants()) {
+      if (!((Enum<?>) constant).name().equals(mapper.convertValue(constant, String.class))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
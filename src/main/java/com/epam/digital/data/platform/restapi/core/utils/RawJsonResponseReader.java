@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.utils;
+
+import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a Kafka reply token by token: {@code status} and {@code details} are extracted, the
+ * {@code payload} is copied as raw JSON bytes without being bound to a Java type.
+ */
+public final class RawJsonResponseReader {
+
+  private RawJsonResponseReader() {
+  }
+
+  public static Response<byte[]> read(JsonFactory factory, byte[] content) {
+    try {
+      return read(factory, factory.createParser(content));
+    } catch (IOException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
+  public static Response<byte[]> read(JsonFactory factory, String content) {
+    try {
+      return read(factory, factory.createParser(content));
+    } catch (IOException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
+  public static Response<byte[]> read(JsonFactory factory, InputStream content) {
+    try {
+      return read(factory, factory.createParser(content));
+    } catch (IOException e) {
+      throw new RuntimeJsonMappingException(e.getMessage());
+    }
+  }
+
+  private static Response<byte[]> read(JsonFactory factory, JsonParser parser) throws IOException {
+    try (parser) {
+      var response = new Response<byte[]>();
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new RuntimeJsonMappingException("Kafka reply is not a JSON object");
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        var field = parser.getCurrentName();
+        var token = parser.nextToken();
+        if ("payload".equals(field)) {
+          response.setPayload(token == JsonToken.VALUE_NULL ? null : copy(factory, parser));
+        } else if ("status".equals(field) && token != JsonToken.VALUE_NULL) {
+          response.setStatus(Status.valueOf(parser.getText()));
+        } else if ("details".equals(field) && token != JsonToken.VALUE_NULL) {
+          response.setDetails(parser.getText());
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return response;
+    }
+  }
+
+  private static byte[] copy(JsonFactory factory, JsonParser parser) throws IOException {
+    var payload = new ByteArrayOutputStream();
+    try (var generator = factory.createGenerator(payload, JsonEncoding.UTF8)) {
+      generator.copyCurrentStructure(parser);
+    }
+    return payload.toByteArray();
+  }
+}
@@ -42,6 +42,8 @@ public final class ResponseCode {
   public static final String JWT_EXPIRED = "JWT_EXPIRED";
   public static final String FORBIDDEN_OPERATION = "FORBIDDEN_OPERATION";
   public static final String FILE_WAS_CHANGED = "FILE_WAS_CHANGED";
+  public static final String IDEMPOTENCY_KEY_REUSED = "IDEMPOTENCY_KEY_REUSED";
+  public static final String TOO_MANY_REQUESTS_IN_FLIGHT = "TOO_MANY_REQUESTS_IN_FLIGHT";
 
   private ResponseCode() {
   }
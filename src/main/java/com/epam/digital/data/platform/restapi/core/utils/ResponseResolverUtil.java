@@ -21,7 +21,10 @@ import com.epam.digital.data.platform.restapi.core.exception.KafkaConstraintViol
 import com.epam.digital.data.platform.restapi.core.exception.KafkaSecurityValidationFailedException;
 import com.epam.digital.data.platform.restapi.core.exception.KafkaInternalServerException;
 import com.epam.digital.data.platform.restapi.core.exception.NotFoundException;
+import com.epam.digital.data.platform.restapi.core.model.AsyncOperation;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import java.util.Map;
@@ -59,4 +62,24 @@ public final class ResponseResolverUtil {
     return ResponseEntity.status(httpStatus)
         .body(kafkaResponse.getPayload());
   }
+
+  public static ResponseEntity<AsyncOperation> getAcceptedHttpResponse(AsyncOperation operation) {
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .header(HttpHeaders.LOCATION, "/operations/" + operation.getOperationId())
+        .body(operation);
+  }
+
+  public static ResponseEntity<byte[]> getRawJsonHttpResponseFromKafka(Response<byte[]> response) {
+    var entity = getHttpResponseFromKafka(response);
+    return ResponseEntity.status(entity.getStatusCode())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(entity.getBody());
+  }
+
+  public static ResponseEntity<String> getRawJsonHttpResponse(Response<String> response) {
+    var entity = getHttpResponseFromKafka(response);
+    return ResponseEntity.status(entity.getStatusCode())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(entity.getBody());
+  }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class AsyncConfigTest {
+
+  private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+      .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+      .withUserConfiguration(AsyncConfig.class);
+
+  @Test
+  void shouldKeepApplicationTaskExecutorAsPrimaryExecutor() {
+    contextRunner
+        .withPropertyValues("spring.task.execution.thread-name-prefix=app-task-")
+        .run(context -> {
+          assertThat(context).hasBean("applicationTaskExecutor");
+          assertThat(context).hasBean("taskExecutor");
+          assertThat(context.getBean(Executor.class))
+              .isSameAs(context.getBean("applicationTaskExecutor"));
+          assertThat(context.getBean("compositeReadExecutor"))
+              .isNotSameAs(context.getBean(Executor.class));
+          assertThat(context.getBean("applicationTaskExecutor", ThreadPoolTaskExecutor.class)
+              .getThreadNamePrefix()).isEqualTo("app-task-");
+        });
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.restapi.core.jooq.QueryDeadline;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.Tracer.SpanInScope;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+class ContextPropagatingTaskDecoratorTest {
+
+  private Tracer tracer;
+  private Span span;
+  private SpanInScope spanInScope;
+  private ExecutorService executor;
+  private ContextPropagatingTaskDecorator instance;
+
+  @BeforeEach
+  void init() {
+    tracer = mock(Tracer.class);
+    span = mock(Span.class);
+    spanInScope = mock(SpanInScope.class);
+    executor = Executors.newSingleThreadExecutor();
+    instance = new ContextPropagatingTaskDecorator(tracer);
+  }
+
+  @AfterEach
+  void tearDown() {
+    MDC.clear();
+    SecurityContextHolder.clearContext();
+    QueryDeadline.clear();
+    executor.shutdown();
+  }
+
+  @Test
+  void shouldRunTaskWithContextOfSubmittingThread() throws Exception {
+    var securityContext = new SecurityContextImpl();
+    MDC.put("traceId", "trace");
+    SecurityContextHolder.setContext(securityContext);
+    QueryDeadline.set(42L);
+    var mdc = new AtomicReference<String>();
+    var security = new AtomicReference<Object>();
+    var deadline = new AtomicReference<Long>();
+
+    var task = instance.decorate(() -> {
+      mdc.set(MDC.get("traceId"));
+      security.set(SecurityContextHolder.getContext());
+      deadline.set(QueryDeadline.get());
+    });
+    executor.submit(task).get(1, TimeUnit.SECONDS);
+
+    assertThat(mdc.get()).isEqualTo("trace");
+    assertThat(security.get()).isSameAs(securityContext);
+    assertThat(deadline.get()).isEqualTo(42L);
+    executor.submit(() -> {
+      mdc.set(MDC.get("traceId"));
+      deadline.set(QueryDeadline.get());
+    }).get(1, TimeUnit.SECONDS);
+    assertThat(mdc.get()).isNull();
+    assertThat(deadline.get()).isNull();
+  }
+
+  @Test
+  void shouldRunTaskInSpanOfSubmittingThread() throws Exception {
+    when(tracer.currentSpan()).thenReturn(span);
+    when(tracer.withSpan(span)).thenReturn(spanInScope);
+
+    var task = instance.decorate(() -> {});
+    executor.submit(task).get(1, TimeUnit.SECONDS);
+
+    verify(tracer).withSpan(span);
+    verify(spanInScope).close();
+  }
+
+  @Test
+  void shouldCaptureContextWhenExecutorIsWrapped() throws Exception {
+    when(tracer.currentSpan()).thenReturn(span);
+    when(tracer.withSpan(span)).thenReturn(spanInScope);
+    MDC.put("traceId", "trace");
+    var wrapped = instance.withCurrentContext(executor);
+    MDC.clear();
+    var mdc = new AtomicReference<String>();
+
+    var done = new CompletableFuture<Void>();
+    wrapped.execute(() -> {
+      mdc.set(MDC.get("traceId"));
+      done.complete(null);
+    });
+    done.get(1, TimeUnit.SECONDS);
+
+    assertThat(mdc.get()).isEqualTo("trace");
+    verify(tracer).withSpan(span);
+  }
+
+  @Test
+  void shouldRunTaskWithoutTracer() throws Exception {
+    instance = new ContextPropagatingTaskDecorator();
+    var ran = new AtomicReference<Boolean>(false);
+
+    executor.submit(instance.decorate(() -> ran.set(true))).get(1, TimeUnit.SECONDS);
+
+    assertThat(ran.get()).isTrue();
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.controller;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.epam.digital.data.platform.restapi.core.audit.RestAuditEventsFacade;
+import com.epam.digital.data.platform.restapi.core.config.SecurityConfiguration;
+import com.epam.digital.data.platform.restapi.core.exception.ApplicationExceptionHandler;
+import com.epam.digital.data.platform.restapi.core.exception.NotFoundException;
+import com.epam.digital.data.platform.restapi.core.model.AsyncOperation;
+import com.epam.digital.data.platform.restapi.core.model.AsyncOperation.State;
+import com.epam.digital.data.platform.restapi.core.service.AsyncOperationService;
+import com.epam.digital.data.platform.restapi.core.service.TraceProvider;
+import com.epam.digital.data.platform.restapi.core.utils.ResponseCode;
+import com.epam.digital.data.platform.starter.security.config.SecurityProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(properties = "data-platform.async-operation.enabled=true")
+@ContextConfiguration(
+    classes = {AsyncOperationController.class, ApplicationExceptionHandler.class})
+@SecurityConfiguration
+class AsyncOperationControllerTest {
+
+  private static final String BASE_URL = "/operations";
+  private static final UUID OPERATION_ID =
+      UUID.fromString("123e4567-e89b-12d3-a456-426655440000");
+
+  @Autowired
+  private MockMvc mockMvc;
+  @MockBean
+  private AsyncOperationService asyncOperationService;
+  @MockBean
+  private RestAuditEventsFacade restAuditEventsFacade;
+  @MockBean
+  private TraceProvider traceProvider;
+  @MockBean
+  private SecurityProperties securityProperties;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void shouldReturnAcceptedWhilePending() throws Exception {
+    when(asyncOperationService.getOperation(
+        argThat(request -> request != null && OPERATION_ID.equals(request.getPayload()))))
+        .thenReturn(new AsyncOperation(OPERATION_ID.toString(), State.PENDING, null));
+
+    mockMvc.perform(get(BASE_URL + "/{id}", OPERATION_ID))
+        .andExpectAll(
+            status().isAccepted(),
+            jsonPath("$.operationId").value(is(OPERATION_ID.toString())),
+            jsonPath("$.state").value(is("PENDING")),
+            jsonPath("$.submitter").doesNotExist());
+  }
+
+  @Test
+  void shouldReturnRecordedReplyWhenCompleted() throws Exception {
+    var recorded = new Response<JsonNode>();
+    recorded.setStatus(Status.CREATED);
+    recorded.setPayload(objectMapper.createObjectNode().put("personFullName", "Some Name"));
+    var operation = new AsyncOperation(OPERATION_ID.toString(), State.COMPLETED,
+        objectMapper.valueToTree(recorded));
+    when(asyncOperationService.getOperation(any())).thenReturn(operation);
+    when(asyncOperationService.getResponse(operation)).thenReturn(recorded);
+
+    mockMvc.perform(get(BASE_URL + "/{id}", OPERATION_ID))
+        .andExpectAll(
+            status().isCreated(),
+            jsonPath("$.personFullName").value(is("Some Name")));
+  }
+
+  @Test
+  void shouldReturn404ForOperationOfAnotherCaller() throws Exception {
+    when(traceProvider.getRequestId()).thenReturn("1");
+    when(asyncOperationService.getOperation(any()))
+        .thenThrow(new NotFoundException("Async operation not found"));
+
+    mockMvc.perform(get(BASE_URL + "/{id}", OPERATION_ID))
+        .andExpectAll(
+            status().isNotFound(),
+            jsonPath("$.code").value(is(ResponseCode.NOT_FOUND)));
+  }
+}
@@ -115,7 +115,7 @@ class ApplicationExceptionHandlerFilteredTest {
   @Test
   void shouldReturn412WhenSignatureIsNotValid() throws Exception {
     doThrow(InvalidSignatureException.class).when(digitalSignatureService)
-        .checkSignature(any(), any());
+        .checkSignature(any(), any(), any());
     mockMvc.perform(delete(BASE_URL + "/{id}", CONSENT_ID)
         .headers(MANDATORY_HEADERS))
         .andExpectAll(
@@ -129,7 +129,7 @@ class ApplicationExceptionHandlerFilteredTest {
   @Test
   void shouldReturn500WhenCephBucketNotFoundException() throws Exception {
     doThrow(MisconfigurationException.class)
-        .when(digitalSignatureService).checkSignature(any(), any());
+        .when(digitalSignatureService).checkSignature(any(), any(), any());
 
     mockMvc.perform(delete(BASE_URL + "/{id}", CONSENT_ID)
         .headers(MANDATORY_HEADERS))
@@ -142,7 +142,7 @@ class ApplicationExceptionHandlerFilteredTest {
   @Test
   void shouldReturn500WhenCephCommunicationException() throws Exception {
     doThrow(CephCommunicationException.class)
-        .when(digitalSignatureService).checkSignature(any(), any());
+        .when(digitalSignatureService).checkSignature(any(), any(), any());
 
     mockMvc.perform(delete(BASE_URL + "/{id}", CONSENT_ID)
         .headers(MANDATORY_HEADERS))
@@ -155,7 +155,7 @@ class ApplicationExceptionHandlerFilteredTest {
   @Test
   void shouldReturn400WhenDigitalSignatureIsNotFound() throws Exception {
     doThrow(new DigitalSignatureNotFoundException(""))
-        .when(digitalSignatureService).checkSignature(any(), any());
+        .when(digitalSignatureService).checkSignature(any(), any(), any());
 
     mockMvc.perform(delete(BASE_URL + "/{id}", CONSENT_ID)
         .headers(MANDATORY_HEADERS))
@@ -183,7 +183,7 @@ class ApplicationExceptionHandlerFilteredTest {
   @Test
   void shouldReturn500WhenKepServiceInternalServerErrorException() throws Exception {
     doThrow(KepServiceInternalServerErrorException.class)
-        .when(digitalSignatureService).checkSignature(any(), any());
+        .when(digitalSignatureService).checkSignature(any(), any(), any());
 
     mockMvc.perform(delete(BASE_URL + "/{id}", CONSENT_ID)
         .headers(MANDATORY_HEADERS))
@@ -196,7 +196,7 @@ class ApplicationExceptionHandlerFilteredTest {
   @Test
   void shouldReturn500WhenKepServiceBadRequestException() throws Exception {
     doThrow(KepServiceBadRequestException.class)
-        .when(digitalSignatureService).checkSignature(any(), any());
+        .when(digitalSignatureService).checkSignature(any(), any(), any());
 
     mockMvc.perform(delete(BASE_URL + "/{id}", CONSENT_ID)
         .headers(MANDATORY_HEADERS))
@@ -329,4 +329,64 @@ class ApplicationExceptionHandlerTest extends ResponseEntityExceptionHandler {
             jsonPath("$.traceId").value(is("1")),
             jsonPath("$.code").value(is(ResponseCode.NOT_FOUND)));
   }
+
+  @Test
+  void shouldReturn400WhenChangeCursorIsNotValid() throws Exception {
+    when(mockService.read(any()))
+        .thenThrow(new InvalidChangeCursorException("bad cursor", null));
+
+    mockMvc.perform(get(BASE_URL + "/{id}", ENTITY_ID))
+        .andExpectAll(
+            status().isBadRequest(),
+            jsonPath("$.traceId").value(is(TRACE_ID)),
+            jsonPath("$.code").value(is(ResponseCode.CLIENT_ERROR)));
+  }
+
+  @Test
+  void shouldReturn400WhenAggregationIsNotValid() throws Exception {
+    when(mockService.read(any()))
+        .thenThrow(new InvalidAggregationException("too many groups"));
+
+    mockMvc.perform(get(BASE_URL + "/{id}", ENTITY_ID))
+        .andExpectAll(
+            status().isBadRequest(),
+            jsonPath("$.traceId").value(is(TRACE_ID)),
+            jsonPath("$.code").value(is(ResponseCode.CLIENT_ERROR)));
+  }
+
+  @Test
+  void shouldReturn409WhenIdempotencyKeyIsReused() throws Exception {
+    when(mockService.read(any()))
+        .thenThrow(new IdempotencyKeyReusedException("key reused"));
+
+    mockMvc.perform(get(BASE_URL + "/{id}", ENTITY_ID))
+        .andExpectAll(
+            status().isConflict(),
+            jsonPath("$.traceId").value(is(TRACE_ID)),
+            jsonPath("$.code").value(is(ResponseCode.IDEMPOTENCY_KEY_REUSED)));
+  }
+
+  @Test
+  void shouldReturn503WhenTooManyRequestsInFlight() throws Exception {
+    when(mockService.read(any()))
+        .thenThrow(new KafkaRequestRejectedException("too many in-flight requests"));
+
+    mockMvc.perform(get(BASE_URL + "/{id}", ENTITY_ID))
+        .andExpectAll(
+            status().isServiceUnavailable(),
+            jsonPath("$.traceId").value(is(TRACE_ID)),
+            jsonPath("$.code").value(is(ResponseCode.TOO_MANY_REQUESTS_IN_FLIGHT)));
+  }
+
+  @Test
+  void shouldReturn400WhenPatchDocumentIsNotValid() throws Exception {
+    when(mockService.read(any()))
+        .thenThrow(new InvalidPatchException("JSON Patch operation must have path"));
+
+    mockMvc.perform(get(BASE_URL + "/{id}", ENTITY_ID))
+        .andExpectAll(
+            status().isBadRequest(),
+            jsonPath("$.traceId").value(is(TRACE_ID)),
+            jsonPath("$.code").value(is(ResponseCode.CLIENT_ERROR)));
+  }
 }
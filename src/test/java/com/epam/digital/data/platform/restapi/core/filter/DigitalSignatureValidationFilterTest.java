@@ -33,11 +33,15 @@ import com.epam.digital.data.platform.dso.client.exception.InvalidSignatureExcep
 import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
 import com.epam.digital.data.platform.restapi.core.config.WebConfigProperties;
 import com.epam.digital.data.platform.restapi.core.service.DigitalSignatureService;
+import com.epam.digital.data.platform.restapi.core.service.LowcodeSignatures;
+import com.epam.digital.data.platform.restapi.core.service.WriteStageTimer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.List;
+import java.util.Optional;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -54,6 +58,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(SpringExtension.class)
 class DigitalSignatureValidationFilterTest {
@@ -80,6 +85,8 @@ class DigitalSignatureValidationFilterTest {
   private FilterChain filterChain;
   @Mock
   private DigitalSignatureService digitalSignatureService;
+  @Mock
+  private LowcodeSignatures signatures;
   private ObjectMapper mapper = new ObjectMapper();
 
   private WebConfigProperties webConfigProperties;
@@ -100,7 +107,8 @@ class DigitalSignatureValidationFilterTest {
         new DigitalSignatureValidationFilter(
             webConfigProperties, digitalSignatureService, mapper, true);
 
-    when(digitalSignatureService.copySignature(any())).thenReturn("");
+    when(digitalSignatureService.readSignatures(any())).thenReturn(signatures);
+    when(digitalSignatureService.copySignature(any(), any())).thenReturn("");
 
     when(request.getHeader(X_DIGITAL_SIGNATURE.getHeaderName()))
         .thenReturn(X_DIGITAL_SIGNATURE_VALUE);
@@ -127,14 +135,40 @@ class DigitalSignatureValidationFilterTest {
     filter.doFilter(request, response, filterChain);
 
     verify(request).setAttribute(SecurityContext.class.getSimpleName(), securityContext);
-    verify(digitalSignatureService, never()).checkSignature(any(), any());
+    verify(digitalSignatureService, never()).readSignatures(any());
   }
 
   @Test
   void methodDelete() throws IOException, ServletException {
     filter.doFilter(request, response, filterChain);
 
-    verify(digitalSignatureService).checkSignature(deleteData, securityContext);
+    verify(digitalSignatureService).checkSignature(deleteData, securityContext, signatures);
+  }
+
+  @Test
+  void shouldReadSignaturesOnceForVerificationAndCopy() throws IOException, ServletException {
+    filter.doFilter(request, response, filterChain);
+
+    verify(digitalSignatureService).readSignatures(securityContext);
+    verify(digitalSignatureService).checkSignature(deleteData, securityContext, signatures);
+    verify(digitalSignatureService).copySignature(X_DIGITAL_SIGNATURE_VALUE, signatures);
+    verify(digitalSignatureService).copySignature(X_DIGITAL_SIGNATURE_DERIVED_VALUE, signatures);
+  }
+
+  @Test
+  void shouldTimeSignatureReadAsSeparateStage() throws IOException, ServletException {
+    var meterRegistry = new SimpleMeterRegistry();
+    ReflectionTestUtils.setField(filter, "writeStageTimer",
+        new WriteStageTimer(meterRegistry, Optional.empty()));
+
+    filter.doFilter(request, response, filterChain);
+
+    for (var stage : List.of(WriteStageTimer.SIGNATURE_READ,
+        WriteStageTimer.SIGNATURE_VERIFICATION, WriteStageTimer.SIGNATURE_COPY)) {
+      assertEquals(1, meterRegistry.get("data_platform_write_stage_duration")
+          .tag("stage", stage)
+          .timer().count());
+    }
   }
 
   @ParameterizedTest
@@ -144,7 +178,7 @@ class DigitalSignatureValidationFilterTest {
 
     filter.doFilter(request, response, filterChain);
 
-    verify(digitalSignatureService).checkSignature(REQUEST_BODY, securityContext);
+    verify(digitalSignatureService).checkSignature(REQUEST_BODY, securityContext, signatures);
   }
 
   @ParameterizedTest
@@ -179,7 +213,7 @@ class DigitalSignatureValidationFilterTest {
     securityContext.setDigitalSignatureChecksum(null);
     securityContext.setDigitalSignatureDerivedChecksum(null);
     doThrow(InvalidSignatureException.class)
-        .when(digitalSignatureService).checkSignature(deleteData, securityContext);
+        .when(digitalSignatureService).checkSignature(deleteData, securityContext, signatures);
 
     Assertions.assertThrows(InvalidSignatureException.class,
         () -> filter.doFilter(request, response, filterChain));
@@ -191,7 +225,7 @@ class DigitalSignatureValidationFilterTest {
 
     filter.doFilter(request, response, filterChain);
 
-    verify(digitalSignatureService).checkSignature(deleteData, securityContext);
+    verify(digitalSignatureService).checkSignature(deleteData, securityContext, signatures);
   }
 
   @Test
@@ -215,14 +249,15 @@ class DigitalSignatureValidationFilterTest {
     when(request.getMethod()).thenReturn("POST");
     when(request.getHeader(X_DIGITAL_SIGNATURE_DERIVED.getHeaderName()))
         .thenReturn(X_DIGITAL_SIGNATURE_DERIVED_VALUE);
-    when(digitalSignatureService.copySignature(X_DIGITAL_SIGNATURE_VALUE)).thenReturn(
+    when(digitalSignatureService.copySignature(X_DIGITAL_SIGNATURE_VALUE, signatures)).thenReturn(
         SIGNATURE_CEPH_OBJECT);
-    when(digitalSignatureService.copySignature(X_DIGITAL_SIGNATURE_DERIVED_VALUE)).thenReturn(
+    when(digitalSignatureService.copySignature(X_DIGITAL_SIGNATURE_DERIVED_VALUE, signatures)).thenReturn(
         SIGNATURE_DERIVED_CEPH_OBJECT);
 
     filter.doFilter(request, response, filterChain);
 
-    verify(digitalSignatureService).checkSignature(eq(REQUEST_BODY), securityContextCaptor.capture());
+    verify(digitalSignatureService)
+        .checkSignature(eq(REQUEST_BODY), securityContextCaptor.capture(), eq(signatures));
 
     String resultSignatureChecksum = securityContextCaptor.getValue().getDigitalSignatureChecksum();
     String resultDerivedSignatureChecksum = securityContextCaptor.getValue().getDigitalSignatureDerivedChecksum();
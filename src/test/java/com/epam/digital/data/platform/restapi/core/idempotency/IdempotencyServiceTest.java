@@ -0,0 +1,209 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.epam.digital.data.platform.restapi.core.dto.MockEntity;
+import com.epam.digital.data.platform.restapi.core.exception.IdempotencyKeyReusedException;
+import com.epam.digital.data.platform.restapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class IdempotencyServiceTest {
+
+  private static final String TOPIC = "request-topic";
+  private static final String KEY = "key";
+  private static final String TOKEN = "token";
+  private static final String OTHER_TOKEN = "other-token";
+  private static final TypeReference<Response<MockEntity>> TYPE = new TypeReference<>() {};
+
+  private final AtomicInteger sentRequests = new AtomicInteger();
+
+  private JwtInfoProvider jwtInfoProvider;
+  private IdempotencyService instance;
+
+  @BeforeEach
+  void init() {
+    jwtInfoProvider = mock(JwtInfoProvider.class);
+    mockCaller(TOKEN, "caller");
+    mockCaller(OTHER_TOKEN, "other-caller");
+    var replyCache = new InMemoryReplyCache(10, Duration.ofMinutes(1), Clock.systemUTC());
+    instance = new IdempotencyService(replyCache, new ObjectMapper(), jwtInfoProvider, true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void shouldReadIdempotencyKeyFromHeader() {
+    var request = new MockHttpServletRequest();
+    request.addHeader("Idempotency-Key", "key");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+    assertThat(instance.getIdempotencyKey()).contains("key");
+  }
+
+  @Test
+  void shouldIgnoreIdempotencyKeyWhenDisabled() {
+    var request = new MockHttpServletRequest();
+    request.addHeader("Idempotency-Key", "key");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    var replyCache = new InMemoryReplyCache(10, Duration.ofMinutes(1), Clock.systemUTC());
+    instance = new IdempotencyService(replyCache, new ObjectMapper(), jwtInfoProvider, false);
+
+    assertThat(instance.getIdempotencyKey()).isEmpty();
+  }
+
+  @Test
+  void shouldReuseReplyForRetriedRequest() {
+    var first = instance.execute(TOPIC, KEY, request("John", TOKEN), TYPE, this::send);
+    var retry = instance.execute(TOPIC, KEY, request("John", TOKEN), TYPE, this::send);
+
+    assertThat(sentRequests.get()).isEqualTo(1);
+    assertThat(retry.getStatus()).isEqualTo(Status.CREATED);
+    assertThat(retry.getPayload().getPersonFullName())
+        .isEqualTo(first.getPayload().getPersonFullName());
+  }
+
+  @Test
+  void shouldRejectKeyReusedWithDifferentPayload() {
+    instance.execute(TOPIC, KEY, request("John", TOKEN), TYPE, this::send);
+
+    assertThrows(IdempotencyKeyReusedException.class,
+        () -> instance.execute(TOPIC, KEY, request("Jane", TOKEN), TYPE, this::send));
+  }
+
+  @Test
+  void shouldScopeKeyByCaller() {
+    instance.execute(TOPIC, KEY, request("John", TOKEN), TYPE, this::send);
+    var otherCaller = instance.execute(TOPIC, KEY, request("Jane", OTHER_TOKEN), TYPE, this::send);
+
+    assertThat(otherCaller.getStatus()).isEqualTo(Status.CREATED);
+    assertThat(sentRequests.get()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldNotDeduplicateRequestWithoutAccessToken() {
+    instance.execute(TOPIC, KEY, request("John", null), TYPE, this::send);
+    instance.execute(TOPIC, KEY, request("John", null), TYPE, this::send);
+
+    assertThat(sentRequests.get()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldWaitForInFlightRequestWithSameKey() throws Exception {
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var first = CompletableFuture.supplyAsync(
+        () -> instance.execute(TOPIC, KEY, request("John", TOKEN), TYPE, () -> {
+          started.countDown();
+          await(release);
+          return send();
+        }));
+    started.await();
+
+    var retry = new CompletableFuture<Response<MockEntity>>();
+    var retryThread = new Thread(() -> retry.complete(
+        instance.execute(TOPIC, KEY, request("John", TOKEN), TYPE, this::send)));
+    retryThread.start();
+    awaitJoining(retryThread);
+    release.countDown();
+
+    assertThat(retry.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(Status.CREATED);
+    assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(Status.CREATED);
+    assertThat(sentRequests.get()).isEqualTo(1);
+  }
+
+  /**
+   * Waits until the thread is parked in {@link CompletableFuture#join()}, i.e. waits for the
+   * reply of the in-flight request.
+   */
+  private void awaitJoining(Thread thread) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!isJoining(thread)) {
+      assertThat(System.nanoTime()).as("retry is waiting for the in-flight request")
+          .isLessThan(deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private boolean isJoining(Thread thread) {
+    return thread.getState() == Thread.State.WAITING
+        && Arrays.stream(thread.getStackTrace()).anyMatch(frame ->
+            CompletableFuture.class.getName().equals(frame.getClassName())
+                && "join".equals(frame.getMethodName()));
+  }
+
+  private Response<MockEntity> send() {
+    sentRequests.incrementAndGet();
+    var entity = new MockEntity();
+    entity.setPersonFullName("created");
+    Response<MockEntity> response = new Response<>();
+    response.setPayload(entity);
+    response.setStatus(Status.CREATED);
+    return response;
+  }
+
+  private Request<MockEntity> request(String name, String accessToken) {
+    var entity = new MockEntity();
+    entity.setPersonFullName(name);
+    var securityContext = new SecurityContext();
+    securityContext.setAccessToken(accessToken);
+    return new Request<>(entity, null, securityContext);
+  }
+
+  private void mockCaller(String accessToken, String subject) {
+    var claims = mock(JwtClaimsDto.class);
+    when(claims.getSubject()).thenReturn(subject);
+    when(jwtInfoProvider.getUserClaims(argThat((Request<?> input) -> input != null
+        && accessToken.equals(input.getSecurityContext().getAccessToken()))))
+        .thenReturn(claims);
+  }
+
+  private void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
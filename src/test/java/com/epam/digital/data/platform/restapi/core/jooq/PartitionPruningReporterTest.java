@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.jooq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PartitionPruningReporterTest {
+
+  private static final String TABLE = "test_entity_partitioned";
+  private static final String PLAN =
+      "[{\"Plan\": {\"Node Type\": \"Append\", \"Plans\": ["
+          + "{\"Node Type\": \"Seq Scan\", \"Relation Name\": \"test_entity_partitioned_2021\"}"
+          + "]}}]";
+
+  private final DSLContext create = DSL.using(SQLDialect.POSTGRES);
+
+  private SimpleMeterRegistry meterRegistry;
+  private String plan;
+
+  @BeforeEach
+  void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    plan = PLAN;
+  }
+
+  @Test
+  void shouldRecordPrunedPartitions() {
+    var instance = reporter(1);
+
+    instance.report(TABLE, create.selectFrom(DSL.table(TABLE)));
+
+    var summary = meterRegistry.get(PartitionPruningReporter.METRIC).tag("table", TABLE)
+        .summary();
+    assertThat(summary.count()).isEqualTo(1);
+    assertThat(summary.totalAmount()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldNotFailSearchWhenPlanCanNotBeRead() {
+    plan = "not a plan";
+    var instance = reporter(1);
+
+    instance.report(TABLE, create.selectFrom(DSL.table(TABLE)));
+
+    assertThat(meterRegistry.find(PartitionPruningReporter.METRIC).summary()).isNull();
+  }
+
+  @Test
+  void shouldNotBeEnabledWithZeroSampleRate() {
+    assertThat(reporter(0).isEnabled()).isFalse();
+  }
+
+  private PartitionPruningReporter reporter(double sampleRate) {
+    var context = DSL.using(new MockConnection(ctx -> {
+      if (ctx.sql().startsWith("explain")) {
+        var queryPlan = DSL.field("QUERY PLAN", String.class);
+        var result = create.newResult(queryPlan);
+        result.add(create.newRecord(queryPlan).values(plan));
+        return new MockResult[] {new MockResult(1, result)};
+      }
+      var count = DSL.count();
+      var result = create.newResult(count);
+      result.add(create.newRecord(count).values(3));
+      return new MockResult[] {new MockResult(1, result)};
+    }), SQLDialect.POSTGRES);
+    return new PartitionPruningReporter(context, new ObjectMapper(), meterRegistry, sampleRate);
+  }
+}
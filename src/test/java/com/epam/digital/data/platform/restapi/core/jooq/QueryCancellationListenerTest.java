@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.jooq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.jooq.ExecuteContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@ExtendWith(MockitoExtension.class)
+class QueryCancellationListenerTest {
+
+  @Mock
+  private ExecuteContext ctx;
+  @Mock
+  private Statement statement;
+
+  private ThreadPoolTaskScheduler scheduler;
+  private SimpleMeterRegistry meterRegistry;
+  private QueryCancellationListener instance;
+
+  @BeforeEach
+  void init() {
+    scheduler = new ThreadPoolTaskScheduler();
+    scheduler.initialize();
+    meterRegistry = new SimpleMeterRegistry();
+    instance = new QueryCancellationListener(scheduler, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    QueryDeadline.clear();
+    scheduler.shutdown();
+  }
+
+  @Test
+  void shouldCancelStatementWhenDeadlinePassed() throws Exception {
+    when(ctx.statement()).thenReturn(statement);
+    QueryDeadline.set(System.nanoTime() - 1);
+
+    instance.executeStart(ctx);
+
+    assertThat(awaitCancelledQueries(1)).isEqualTo(1);
+    verify(statement).cancel();
+  }
+
+  @Test
+  void shouldNotScheduleCancellationWithoutDeadline() throws Exception {
+    instance.executeStart(ctx);
+
+    verify(ctx, never()).data(any(), any());
+    verify(statement, never()).cancel();
+  }
+
+  @Test
+  void shouldStopCancellationWhenQueryFinished() throws Exception {
+    when(ctx.statement()).thenReturn(statement);
+    QueryDeadline.set(System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+
+    instance.executeStart(ctx);
+    var captor = ArgumentCaptor.forClass(Object.class);
+    verify(ctx).data(eq(QueryCancellationListener.CANCELLATION_KEY), captor.capture());
+    var cancellation = (ScheduledFuture<?>) captor.getValue();
+    when(ctx.data(QueryCancellationListener.CANCELLATION_KEY)).thenReturn(cancellation);
+
+    instance.executeEnd(ctx);
+
+    assertThat(cancellation.isCancelled()).isTrue();
+    verify(statement, never()).cancel();
+  }
+
+  private double awaitCancelledQueries(double expected) throws InterruptedException {
+    var cancelledQueries = meterRegistry.get("data_platform_db_cancelled_queries").counter();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    while (cancelledQueries.count() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    return cancelledQueries.count();
+  }
+}
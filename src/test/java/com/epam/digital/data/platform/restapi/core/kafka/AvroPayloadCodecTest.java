@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.kafka.RequestContext;
+import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class AvroPayloadCodecTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AvroPayloadCodec avroCodec = new AvroPayloadCodec();
+  private final JsonPayloadCodec jsonCodec = new JsonPayloadCodec(objectMapper);
+
+  @Test
+  void shouldDecodeEncodedValue() {
+    var type = objectMapper.constructType(Batch.class);
+    var batch = batchOf(3);
+
+    Batch decoded = avroCodec.decode(avroCodec.encode(batch, type), type);
+
+    assertThat(decoded.getName()).isEqualTo("import");
+    assertThat(decoded.getItems()).hasSize(3);
+    assertThat(decoded.getItems().get(2).getCode()).isEqualTo("code-2");
+    assertThat(decoded.getItems().get(2).getAmount()).isEqualTo(2L);
+    assertThat(decoded.getItems().get(2).getComment()).isNull();
+  }
+
+  @Test
+  void shouldReuseGeneratedSchema() {
+    JavaType type = objectMapper.constructType(Batch.class);
+
+    assertThat(avroCodec.schemaFor(type)).isSameAs(avroCodec.schemaFor(type));
+  }
+
+  @Test
+  void shouldEncodeBulkPayloadMoreCompactlyThanJson() {
+    var type = objectMapper.constructType(Batch.class);
+    var batch = batchOf(1000);
+
+    var avroSize = avroCodec.encode(batch, type).length;
+    var jsonSize = jsonCodec.encode(batch, type).length;
+
+    assertThat(avroSize).isLessThan(jsonSize / 2);
+  }
+
+  @Test
+  void shouldDecodeEncodedRequestEnvelope() {
+    var type = objectMapper.getTypeFactory().constructParametricType(Request.class, UUID.class);
+    var requestContext = new RequestContext();
+    requestContext.setSystem("system");
+    requestContext.setApplication("application");
+    requestContext.setBusinessProcessInstanceId("process-instance");
+    var securityContext = new SecurityContext();
+    securityContext.setAccessToken("token");
+    securityContext.setDigitalSignature("signature");
+    var id = UUID.randomUUID();
+
+    Request<UUID> decoded =
+        avroCodec.decode(avroCodec.encode(new Request<>(id, requestContext, securityContext), type),
+            type);
+
+    assertThat(decoded.getPayload()).isEqualTo(id);
+    assertThat(decoded.getRequestContext().getSystem()).isEqualTo("system");
+    assertThat(decoded.getRequestContext().getApplication()).isEqualTo("application");
+    assertThat(decoded.getRequestContext().getBusinessProcessInstanceId())
+        .isEqualTo("process-instance");
+    assertThat(decoded.getRequestContext().getBusinessActivity()).isNull();
+    assertThat(decoded.getSecurityContext().getAccessToken()).isEqualTo("token");
+    assertThat(decoded.getSecurityContext().getDigitalSignature()).isEqualTo("signature");
+  }
+
+  @Test
+  void shouldDecodeEncodedResponseEnvelope() {
+    var type = objectMapper.getTypeFactory().constructParametricType(Response.class, Batch.class);
+    var response = new Response<Batch>();
+    response.setPayload(batchOf(2));
+    response.setStatus(Status.CONSTRAINT_VIOLATION);
+    response.setDetails("details");
+
+    Response<Batch> decoded = avroCodec.decode(avroCodec.encode(response, type), type);
+
+    assertThat(decoded.getStatus()).isEqualTo(Status.CONSTRAINT_VIOLATION);
+    assertThat(decoded.getDetails()).isEqualTo("details");
+    assertThat(decoded.getPayload().getItems()).hasSize(2);
+  }
+
+  @Test
+  void shouldFingerprintSchemaPerType() {
+    var requestType =
+        objectMapper.getTypeFactory().constructParametricType(Request.class, UUID.class);
+    var batchType = objectMapper.constructType(Batch.class);
+
+    assertThat(avroCodec.schemaFingerprint(requestType))
+        .isEqualTo(new AvroPayloadCodec().schemaFingerprint(requestType))
+        .isNotEqualTo(avroCodec.schemaFingerprint(batchType));
+    assertThat(jsonCodec.schemaFingerprint(batchType)).isEmpty();
+  }
+
+  private Batch batchOf(int size) {
+    var items = new ArrayList<Item>(size);
+    for (int i = 0; i < size; i++) {
+      var item = new Item();
+      item.setCode("code-" + i);
+      item.setAmount(i);
+      items.add(item);
+    }
+    var batch = new Batch();
+    batch.setName("import");
+    batch.setItems(items);
+    return batch;
+  }
+
+  public static class Batch {
+
+    private String name;
+    private List<Item> items;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public List<Item> getItems() {
+      return items;
+    }
+
+    public void setItems(List<Item> items) {
+      this.items = items;
+    }
+  }
+
+  public static class Item {
+
+    private String code;
+    private long amount;
+    private String comment;
+
+    public String getCode() {
+      return code;
+    }
+
+    public void setCode(String code) {
+      this.code = code;
+    }
+
+    public long getAmount() {
+      return amount;
+    }
+
+    public void setAmount(long amount) {
+      this.amount = amount;
+    }
+
+    public String getComment() {
+      return comment;
+    }
+
+    public void setComment(String comment) {
+      this.comment = comment;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HashedWheelTimerTest {
+
+  private HashedWheelTimer timer;
+
+  @BeforeEach
+  void init() {
+    timer = new HashedWheelTimer("test-timer", Duration.ofMillis(10), 4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    timer.stop();
+  }
+
+  @Test
+  void shouldRunTaskAfterDelay() throws InterruptedException {
+    var expired = new CountDownLatch(1);
+    var start = System.nanoTime();
+
+    timer.newTimeout(expired::countDown, Duration.ofMillis(50));
+
+    assertThat(expired.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+  }
+
+  @Test
+  void shouldRunTaskAfterSeveralWheelRounds() throws InterruptedException {
+    var expired = new CountDownLatch(1);
+
+    timer.newTimeout(expired::countDown, Duration.ofMillis(150));
+
+    assertThat(expired.await(1, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void shouldNotRunCancelledTask() throws InterruptedException {
+    var ran = new AtomicBoolean();
+    var marker = new CountDownLatch(1);
+
+    var timeout = timer.newTimeout(() -> ran.set(true), Duration.ofMillis(20));
+    timer.newTimeout(marker::countDown, Duration.ofMillis(60));
+
+    assertThat(timeout.cancel()).isTrue();
+    assertThat(marker.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(ran).isFalse();
+  }
+
+  @Test
+  void shouldRemoveCancelledTimeoutFromItsBucket() throws InterruptedException {
+    var timeout = timer.newTimeout(() -> {}, Duration.ofMinutes(1));
+    awaitPendingTimeouts(1);
+    // let the timeout be transferred from the schedule queue to its bucket
+    Thread.sleep(50);
+
+    assertThat(timeout.cancel()).isTrue();
+
+    awaitPendingTimeouts(0);
+  }
+
+  @Test
+  void shouldNotCancelExpiredTimeout() throws InterruptedException {
+    var expired = new CountDownLatch(1);
+
+    var timeout = timer.newTimeout(expired::countDown, Duration.ofMillis(10));
+
+    assertThat(expired.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(timeout.cancel()).isFalse();
+  }
+
+  private void awaitPendingTimeouts(int expected) throws InterruptedException {
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    while (timer.pendingTimeouts() != expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(timer.pendingTimeouts()).isEqualTo(expected);
+  }
+}
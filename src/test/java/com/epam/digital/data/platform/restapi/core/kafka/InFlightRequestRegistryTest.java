@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.epam.digital.data.platform.restapi.core.exception.KafkaRequestRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InFlightRequestRegistryTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private InFlightRequestRegistry instance;
+
+  @BeforeEach
+  void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    instance = new InFlightRequestRegistry(3, 2, Duration.ZERO, meterRegistry);
+  }
+
+  @Test
+  void shouldRejectWhenTopicLimitReached() {
+    instance.acquire("topic");
+    instance.acquire("topic");
+
+    assertThrows(KafkaRequestRejectedException.class, () -> instance.acquire("topic"));
+    assertThat(rejected("topic", "topic")).isEqualTo(1);
+    assertThat(instance.getInFlight()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldRejectWhenGlobalLimitReached() {
+    instance.acquire("first");
+    instance.acquire("first");
+    instance.acquire("second");
+
+    assertThrows(KafkaRequestRejectedException.class, () -> instance.acquire("second"));
+    assertThat(rejected("second", "global")).isEqualTo(1);
+    assertThat(meterRegistry.get(InFlightRequestRegistry.IN_FLIGHT_METRIC).gauge().value())
+        .isEqualTo(3);
+  }
+
+  @Test
+  void shouldAdmitAgainAfterPermitClosed() {
+    var permit = instance.acquire("topic");
+    instance.acquire("topic");
+
+    permit.close();
+    permit.close();
+
+    instance.acquire("topic");
+    assertThat(instance.getInFlight()).isEqualTo(2);
+    assertThrows(KafkaRequestRejectedException.class, () -> instance.acquire("topic"));
+  }
+
+  @Test
+  void shouldRecordAdmissionWait() {
+    instance.acquire("topic");
+
+    assertThat(meterRegistry.get(InFlightRequestRegistry.ADMISSION_WAIT_METRIC).timer().count())
+        .isEqualTo(1);
+  }
+
+  private double rejected(String topic, String limit) {
+    return meterRegistry.get(InFlightRequestRegistry.REJECTED_METRIC)
+        .tag("topic", topic)
+        .tag("limit", limit)
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.requestreply.KafkaReplyTimeoutException;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+@ExtendWith(MockitoExtension.class)
+class ReplyCorrelationEngineTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  @Mock
+  private KafkaOperations<String, String> template;
+
+  private SettableListenableFuture<SendResult<String, String>> sendFuture;
+  private HashedWheelTimer timer;
+  private ReplyCorrelationEngine instance;
+
+  @BeforeEach
+  void init() {
+    sendFuture = new SettableListenableFuture<>();
+    when(template.send(any(ProducerRecord.class))).thenReturn(sendFuture);
+    timer = new HashedWheelTimer("test-timer", Duration.ofMillis(10), 8);
+    instance = new ReplyCorrelationEngine(timer, Runnable::run, false);
+  }
+
+  @AfterEach
+  void tearDown() {
+    timer.stop();
+  }
+
+  @Test
+  void shouldCompleteWithMatchingReply() throws Exception {
+    var request = new ProducerRecord<String, String>("request", "value");
+
+    var reply = instance.sendAndReceive(template, request, TIMEOUT);
+    var record = replyTo(request);
+    instance.onMessage(List.of(record));
+
+    assertThat(reply.get(1, TimeUnit.SECONDS)).isSameAs(record);
+    assertThat(instance.getPendingCount()).isZero();
+  }
+
+  @Test
+  void shouldIgnoreDuplicateAndUnknownReplies() throws Exception {
+    var request = new ProducerRecord<String, String>("request", "value");
+    var reply = instance.sendAndReceive(template, request, TIMEOUT);
+    var record = replyTo(request);
+
+    instance.onMessage(List.of(
+        record, replyTo(request), new ConsumerRecord<>("reply", 0, 2, null, "unknown")));
+
+    assertThat(reply.get(1, TimeUnit.SECONDS)).isSameAs(record);
+  }
+
+  @Test
+  void shouldTimeOutWithoutReply() {
+    var request = new ProducerRecord<String, String>("request", "value");
+
+    var reply = instance.sendAndReceive(template, request, Duration.ofMillis(30));
+
+    var e = assertThrows(ExecutionException.class, () -> reply.get(1, TimeUnit.SECONDS));
+    assertThat(e.getCause()).isInstanceOf(KafkaReplyTimeoutException.class);
+    assertThat(instance.getPendingCount()).isZero();
+  }
+
+  @Test
+  void shouldIgnoreLateReply() {
+    var request = new ProducerRecord<String, String>("request", "value");
+    var reply = instance.sendAndReceive(template, request, Duration.ofMillis(30));
+    assertThrows(ExecutionException.class, () -> reply.get(1, TimeUnit.SECONDS));
+
+    instance.onMessage(List.of(replyTo(request)));
+
+    assertThat(reply.isCompletedExceptionally()).isTrue();
+  }
+
+  @Test
+  void shouldFailWhenSendFailed() {
+    var request = new ProducerRecord<String, String>("request", "value");
+
+    var reply = instance.sendAndReceive(template, request, TIMEOUT);
+    sendFuture.setException(new IllegalStateException());
+
+    var e = assertThrows(ExecutionException.class, () -> reply.get(1, TimeUnit.SECONDS));
+    assertThat(e.getCause()).isInstanceOf(KafkaException.class);
+    assertThat(instance.getPendingCount()).isZero();
+  }
+
+  private ConsumerRecord<String, Object> replyTo(ProducerRecord<String, String> request) {
+    var record = new ConsumerRecord<String, Object>("reply", 0, 1, null, "reply");
+    record.headers().add(
+        KafkaHeaders.CORRELATION_ID,
+        request.headers().lastHeader(KafkaHeaders.CORRELATION_ID).value());
+    return record;
+  }
+}
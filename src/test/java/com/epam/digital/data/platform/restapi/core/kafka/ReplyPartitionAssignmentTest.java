@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.kafka.support.TopicPartitionOffset.SeekPosition;
+
+class ReplyPartitionAssignmentTest {
+
+  @Test
+  void shouldClaimConsecutivePartitionsForInstance() {
+    var instance = new ReplyPartitionAssignment(2, 3);
+
+    assertThat(instance.getPartitions()).isEqualTo(List.of(6, 7, 8));
+    assertThat(instance.topicPartitions("reply"))
+        .containsExactly(
+            new TopicPartitionOffset("reply", 6, SeekPosition.END),
+            new TopicPartitionOffset("reply", 7, SeekPosition.END),
+            new TopicPartitionOffset("reply", 8, SeekPosition.END));
+  }
+
+  @Test
+  void shouldRotateReplyPartitionHeader() {
+    var instance = new ReplyPartitionAssignment(1, 2);
+
+    assertThat(ByteBuffer.wrap(instance.nextPartitionHeader()).getInt()).isEqualTo(2);
+    assertThat(ByteBuffer.wrap(instance.nextPartitionHeader()).getInt()).isEqualTo(3);
+    assertThat(ByteBuffer.wrap(instance.nextPartitionHeader()).getInt()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldResolveInstanceIndexFromPodName() {
+    assertThat(ReplyPartitionAssignment.instanceIndexOf("registry-rest-api-4")).isEqualTo(4);
+  }
+
+  @Test
+  void shouldFailWhenPodNameHasNoOrdinal() {
+    assertThrows(IllegalStateException.class,
+        () -> ReplyPartitionAssignment.instanceIndexOf("registry-rest-api"));
+  }
+
+  @Test
+  void shouldRejectDeploymentPodNameWithNumericSuffix() {
+    assertThrows(IllegalStateException.class,
+        () -> ReplyPartitionAssignment.instanceIndexOf("registry-rest-api-7d9f8b6c5d-24567"));
+  }
+
+  @Test
+  void shouldRejectOrdinalWithLeadingZero() {
+    assertThrows(IllegalStateException.class,
+        () -> ReplyPartitionAssignment.instanceIndexOf("registry-rest-api-04"));
+  }
+
+  @Test
+  void shouldAcceptReplyTopicWithEnoughPartitions() {
+    var instance = new ReplyPartitionAssignment(2, 3);
+
+    assertDoesNotThrow(() -> instance.verifyReplyTopic("reply", topic -> 9));
+  }
+
+  @Test
+  void shouldFailWhenReplyTopicHasTooFewPartitions() {
+    var instance = new ReplyPartitionAssignment(2, 3);
+
+    assertThrows(IllegalStateException.class,
+        () -> instance.verifyReplyTopic("reply", topic -> 8));
+  }
+
+  @Test
+  void shouldResolvePartitionCountOncePerTopic() {
+    var instance = new ReplyPartitionAssignment(0, 1);
+    var lookups = new AtomicInteger();
+
+    instance.verifyReplyTopic("reply", topic -> lookups.incrementAndGet());
+    instance.verifyReplyTopic("reply", topic -> lookups.incrementAndGet());
+
+    assertThat(lookups).hasValue(1);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.kafka.RequestContext;
+import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
+import com.epam.digital.data.platform.restapi.core.config.GenericConfig;
+import com.epam.digital.data.platform.restapi.core.dto.MockEntity;
+import com.epam.digital.data.platform.restapi.core.model.SerializedRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.listener.GenericMessageListenerContainer;
+import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+class SerializedRequestSerializerTest {
+
+  private static final String TOPIC = "topic";
+
+  // mapper the service serializes requests with, not the one of the configured serializer
+  private final ObjectMapper objectMapper = new GenericConfig().objectMapper();
+  private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+  private final SerializedRequestSerializer<Object> instance =
+      new SerializedRequestSerializer<>(new JsonSerializer<>());
+
+  @Test
+  void shouldWriteSerializedRequestBytesAsIs() {
+    var request = SerializedRequest.of(request(), objectMapper);
+
+    var result = instance.serialize(TOPIC, new RecordHeaders(), request);
+
+    assertThat(result).isSameAs(request.getSerialized());
+  }
+
+  @Test
+  void shouldSerializeSameJsonAsConfiguredSerializer() throws Exception {
+    var request = request();
+
+    var expected = jsonSerializer.serialize(TOPIC, new RecordHeaders(), request);
+    var actual = instance.serialize(TOPIC, new RecordHeaders(),
+        SerializedRequest.of(request, objectMapper));
+
+    assertThat(objectMapper.readTree(actual)).isEqualTo(objectMapper.readTree(expected));
+  }
+
+  @Test
+  void shouldAddSameTypeHeadersAsConfiguredSerializer() {
+    var request = request();
+    var expectedHeaders = new RecordHeaders();
+    var actualHeaders = new RecordHeaders();
+
+    jsonSerializer.serialize(TOPIC, expectedHeaders, request);
+    instance.serialize(TOPIC, actualHeaders, SerializedRequest.of(request, objectMapper));
+
+    assertThat(actualHeaders.toArray()).isNotEmpty().containsExactly(expectedHeaders.toArray());
+  }
+
+  @Test
+  void shouldNotAddTypeHeadersWhenConfiguredSerializerDoesNot() {
+    var jsonSerializerWithoutTypeInfo = new JsonSerializer<>();
+    jsonSerializerWithoutTypeInfo.setAddTypeInfo(false);
+    var headers = new RecordHeaders();
+
+    new SerializedRequestSerializer<>(jsonSerializerWithoutTypeInfo)
+        .serialize(TOPIC, headers, SerializedRequest.of(request(), objectMapper));
+
+    assertThat(headers.toArray()).isEmpty();
+  }
+
+  @Test
+  void shouldWrapOnlyRequestProducerFactory() {
+    var postProcessor = new SerializedRequestSerializerPostProcessor();
+    var requestProducerFactory = new DefaultKafkaProducerFactory<String, Object>(
+        Map.of(), new StringSerializer(), new JsonSerializer<>());
+    var otherProducerFactory = new DefaultKafkaProducerFactory<String, Object>(
+        Map.of(), new StringSerializer(), new JsonSerializer<>());
+
+    postProcessor.postProcessAfterInitialization(new ReplyingKafkaTemplate<>(
+        requestProducerFactory, mock(GenericMessageListenerContainer.class)), "template");
+    postProcessor.postProcessAfterInitialization(otherProducerFactory, "producerFactory");
+
+    assertThat(requestProducerFactory.getValueSerializerSupplier().get())
+        .isInstanceOf(SerializedRequestSerializer.class);
+    assertThat(otherProducerFactory.getValueSerializerSupplier().get())
+        .isInstanceOf(JsonSerializer.class);
+  }
+
+  private Request<MockEntity> request() {
+    var payload = new MockEntity();
+    payload.setConsentId(UUID.randomUUID());
+    payload.setConsentDate(LocalDateTime.of(2023, 5, 17, 10, 30, 15, 123_000_000));
+    payload.setPersonFullName("Ivan Ivanov");
+    return new Request<>(payload, new RequestContext(), new SecurityContext());
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.epam.digital.data.platform.restapi.core.dto.MockEntity;
+import com.epam.digital.data.platform.restapi.core.exception.NoKafkaResponseException;
+import com.epam.digital.data.platform.restapi.core.exception.NotFoundException;
+import com.epam.digital.data.platform.restapi.core.idempotency.InMemoryReplyCache;
+import com.epam.digital.data.platform.restapi.core.model.AsyncOperation.State;
+import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncOperationServiceTest {
+
+  @Mock
+  private KafkaService<UUID, MockEntity> kafkaService;
+  @Mock
+  private JwtInfoProvider jwtInfoProvider;
+
+  private final Request<UUID> request = new Request<>(UUID.randomUUID(), null, null);
+  private AsyncOperationService instance;
+
+  @BeforeEach
+  void init() {
+    instance = new AsyncOperationService(
+        new InMemoryReplyCache(10, Duration.ofMinutes(1), Clock.systemUTC()), new ObjectMapper(),
+        jwtInfoProvider);
+  }
+
+  @Test
+  void shouldBePendingUntilReplyArrives() {
+    var reply = new CompletableFuture<Response<MockEntity>>();
+    when(kafkaService.requestAsync(request)).thenReturn(reply);
+
+    var operation = instance.submit(kafkaService, request);
+
+    assertThat(operation.getState()).isEqualTo(State.PENDING);
+    assertThat(instance.getOperation(read(operation.getOperationId(), null)).getState())
+        .isEqualTo(State.PENDING);
+  }
+
+  @Test
+  void shouldRecordReply() {
+    var entity = new MockEntity();
+    entity.setPersonFullName("Some Name");
+    Response<MockEntity> response = new Response<>();
+    response.setStatus(Status.CREATED);
+    response.setPayload(entity);
+    var reply = new CompletableFuture<Response<MockEntity>>();
+    when(kafkaService.requestAsync(request)).thenReturn(reply);
+
+    var operationId = instance.submit(kafkaService, request).getOperationId();
+    reply.complete(response);
+
+    var operation = instance.getOperation(read(operationId, null));
+    assertThat(operation.getState()).isEqualTo(State.COMPLETED);
+    var recorded = instance.getResponse(operation);
+    assertThat(recorded.getStatus()).isEqualTo(Status.CREATED);
+    assertThat(recorded.getPayload().get("personFullName").asText()).isEqualTo("Some Name");
+  }
+
+  @Test
+  void shouldRecordFailureAsUnavailable() {
+    when(kafkaService.requestAsync(request))
+        .thenReturn(CompletableFuture.failedFuture(new NoKafkaResponseException("timeout", null)));
+
+    var operationId = instance.submit(kafkaService, request).getOperationId();
+
+    var recorded = instance.getResponse(instance.getOperation(read(operationId, null)));
+    assertThat(recorded.getStatus()).isEqualTo(Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
+    assertThat(recorded.getDetails()).isEqualTo("timeout");
+  }
+
+  @Test
+  void shouldFailForUnknownOperation() {
+    assertThrows(NotFoundException.class,
+        () -> instance.getOperation(new Request<>(UUID.randomUUID(), null, null)));
+  }
+
+  @Test
+  void shouldReturnOperationToItsSubmitter() {
+    mockCaller("token", "submitter");
+    var submitted = new Request<>(UUID.randomUUID(), null, securityContext("token"));
+    when(kafkaService.requestAsync(submitted)).thenReturn(new CompletableFuture<>());
+
+    var operationId = instance.submit(kafkaService, submitted).getOperationId();
+    var operation = instance.getOperation(read(operationId, "token"));
+
+    assertThat(operation.getState()).isEqualTo(State.PENDING);
+    assertThat(operation.getSubmitter()).isNull();
+  }
+
+  @Test
+  void shouldHideOperationFromOtherCallers() {
+    mockCaller("token", "submitter");
+    mockCaller("other-token", "other-caller");
+    var submitted = new Request<>(UUID.randomUUID(), null, securityContext("token"));
+    when(kafkaService.requestAsync(submitted)).thenReturn(new CompletableFuture<>());
+
+    var operationId = instance.submit(kafkaService, submitted).getOperationId();
+
+    assertThrows(NotFoundException.class,
+        () -> instance.getOperation(read(operationId, "other-token")));
+    assertThrows(NotFoundException.class, () -> instance.getOperation(read(operationId, null)));
+  }
+
+  private Request<UUID> read(String operationId, String accessToken) {
+    return new Request<>(UUID.fromString(operationId), null,
+        accessToken == null ? null : securityContext(accessToken));
+  }
+
+  private SecurityContext securityContext(String accessToken) {
+    var securityContext = new SecurityContext();
+    securityContext.setAccessToken(accessToken);
+    return securityContext;
+  }
+
+  private void mockCaller(String accessToken, String subject) {
+    var claims = mock(JwtClaimsDto.class);
+    when(claims.getSubject()).thenReturn(subject);
+    when(jwtInfoProvider.getUserClaims(argThat((Request<?> input) -> input != null
+        && input.getSecurityContext() != null
+        && accessToken.equals(input.getSecurityContext().getAccessToken()))))
+        .thenReturn(claims);
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.integration.ceph.service.CephService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+@ExtendWith(MockitoExtension.class)
+class CephDeletionQueueTest {
+
+  private static final String BUCKET = "bucket";
+
+  @Mock
+  private CephService cephService;
+  @Mock
+  private TaskScheduler scheduler;
+  @Mock
+  private Clock clock;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CephDeletionQueue instance;
+
+  @BeforeEach
+  void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    instance = new CephDeletionQueue(cephService, BUCKET, scheduler, meterRegistry, clock,
+        3, 5, Duration.ofSeconds(5), 2, Duration.ofSeconds(1));
+  }
+
+  @Test
+  void shouldDeletePendingKeysInOneRequest() {
+    instance.enqueue("a");
+    instance.enqueue("b");
+
+    instance.flush();
+
+    verify(cephService).delete(BUCKET, Set.of("a", "b"));
+    assertThat(instance.getDepth()).isZero();
+    assertThat(meterRegistry.get(CephDeletionQueue.QUEUE_DEPTH_METRIC).gauge().value()).isZero();
+  }
+
+  @Test
+  void shouldSplitPendingKeysIntoBatches() {
+    when(clock.instant()).thenReturn(Instant.EPOCH);
+    instance.enqueue("a");
+    instance.enqueue("b");
+    instance.enqueue("c");
+    instance.enqueue("d");
+
+    instance.flush();
+
+    verify(cephService).delete(BUCKET, Set.of("a", "b", "c"));
+    verify(cephService).delete(BUCKET, Set.of("d"));
+  }
+
+  @Test
+  void shouldRequestFlushWhenBatchIsFull() {
+    when(clock.instant()).thenReturn(Instant.EPOCH);
+
+    instance.enqueue("a");
+    instance.enqueue("b");
+    verify(scheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+
+    instance.enqueue("c");
+    instance.enqueue("d");
+    verify(scheduler).schedule(any(Runnable.class), eq(Instant.EPOCH));
+  }
+
+  @Test
+  void shouldRetryFailedBatchAfterBackoff() {
+    when(clock.millis()).thenReturn(0L, 500L, 1000L);
+    doThrow(new RuntimeException()).doNothing().when(cephService).delete(BUCKET, Set.of("a"));
+    instance.enqueue("a");
+
+    instance.flush();
+    instance.flush();
+    verify(cephService).delete(BUCKET, Set.of("a"));
+    assertThat(instance.getDepth()).isEqualTo(1);
+
+    instance.flush();
+    verify(cephService, times(2)).delete(BUCKET, Set.of("a"));
+    assertThat(instance.getDepth()).isZero();
+  }
+
+  @Test
+  void shouldCountOrphanedObjectAfterMaxAttempts() {
+    when(clock.millis()).thenReturn(0L, 1000L);
+    doThrow(new RuntimeException()).when(cephService).delete(BUCKET, Set.of("a"));
+    instance.enqueue("a");
+
+    instance.flush();
+    instance.flush();
+
+    verify(cephService, times(2)).delete(BUCKET, Set.of("a"));
+    assertThat(instance.getDepth()).isZero();
+    assertThat(meterRegistry.get(CephDeletionQueue.ORPHANED_OBJECTS_METRIC).counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void shouldDropKeysBeyondMaxPending() {
+    when(clock.instant()).thenReturn(Instant.EPOCH);
+    for (var key : new String[] {"a", "b", "c", "d", "e", "f"}) {
+      instance.enqueue(key);
+    }
+
+    assertThat(instance.getDepth()).isEqualTo(5);
+    assertThat(meterRegistry.get(CephDeletionQueue.ORPHANED_OBJECTS_METRIC).counter().count())
+        .isEqualTo(1);
+
+    instance.flush();
+
+    verify(cephService).delete(BUCKET, Set.of("a", "b", "c"));
+    verify(cephService).delete(BUCKET, Set.of("d", "e"));
+  }
+
+  @Test
+  void shouldCountKeysAwaitingRetryTowardsMaxPending() {
+    when(clock.millis()).thenReturn(0L);
+    doThrow(new RuntimeException()).when(cephService).delete(any(), any());
+    for (var key : new String[] {"a", "b", "c", "d", "e"}) {
+      instance.enqueue(key);
+    }
+    instance.flush();
+
+    instance.enqueue("f");
+
+    assertThat(instance.getDepth()).isEqualTo(5);
+    assertThat(meterRegistry.get(CephDeletionQueue.ORPHANED_OBJECTS_METRIC).counter().count())
+        .isEqualTo(1);
+  }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.epam.digital.data.platform.restapi.core.dto.MockEntity;
+import com.epam.digital.data.platform.restapi.core.exception.ForbiddenOperationException;
+import com.epam.digital.data.platform.restapi.core.exception.InvalidCompositeReadRequestException;
+import com.epam.digital.data.platform.restapi.core.exception.NotFoundException;
+import com.epam.digital.data.platform.restapi.core.model.CompositeReadRequest;
+import com.epam.digital.data.platform.restapi.core.queryhandler.QueryHandler;
+import com.epam.digital.data.platform.restapi.core.queryhandler.impl.QueryHandlerTestImpl;
+import com.epam.digital.data.platform.restapi.core.searchhandler.AbstractSearchHandlerTestImpl;
+import com.epam.digital.data.platform.restapi.core.searchhandler.SearchHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+@ExtendWith(MockitoExtension.class)
+class CompositeReadServiceTest {
+
+  private static final UUID FOUND_ID = UUID.fromString("123e4567-e89b-12d3-a456-426655440000");
+  private static final UUID MISSING_ID = UUID.fromString("123e4567-e89b-12d3-a456-426655440001");
+  private static final String HANDLER = "queryHandlerTestImpl";
+  private static final String SEARCH_HANDLER = "searchHandlerTestImpl";
+
+  @Mock
+  private ListableBeanFactory beanFactory;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+  @Mock
+  private QueryHandlerTestImpl queryHandler;
+  @Mock
+  private AbstractSearchHandlerTestImpl searchHandler;
+
+  private CompositeReadService instance;
+
+  @BeforeEach
+  void init() {
+    instance = new CompositeReadService(beanFactory, new ObjectMapper(), transactionManager,
+        Runnable::run, 1, 2, List.of(HANDLER, SEARCH_HANDLER));
+  }
+
+  @Test
+  void shouldExecuteSubRequestsInOneReadOnlyTransaction() {
+    when(beanFactory.getBeansOfType(QueryHandler.class, false, false))
+        .thenReturn(Map.<String, QueryHandler>of(HANDLER, queryHandler));
+    var entity = new MockEntity();
+    entity.setConsentId(FOUND_ID);
+    when(queryHandler.findById(any()))
+        .thenAnswer(invocation -> {
+          Request<UUID> request = invocation.getArgument(0);
+          return FOUND_ID.equals(request.getPayload()) ? Optional.of(entity) : Optional.empty();
+        });
+
+    var result = instance.request(
+        new Request<>(List.of(subRequest("found", FOUND_ID), subRequest("missing", MISSING_ID)),
+            null, null));
+
+    assertThat(result).containsOnlyKeys("found", "missing");
+    assertThat(result.get("found").getStatus()).isEqualTo(Status.SUCCESS);
+    assertThat(result.get("found").getPayload()).isEqualTo(entity);
+    assertThat(result.get("missing").getStatus()).isEqualTo(Status.NOT_FOUND);
+
+    var definitionCaptor = ArgumentCaptor.forClass(TransactionDefinition.class);
+    verify(transactionManager).getTransaction(definitionCaptor.capture());
+    assertThat(definitionCaptor.getValue().isReadOnly()).isTrue();
+  }
+
+  @Test
+  void shouldThrowExceptionWhenHandlerNotFound() {
+    var input = new Request<>(List.of(subRequest("found", FOUND_ID)), null, null);
+
+    assertThrows(NotFoundException.class, () -> instance.request(input));
+  }
+
+  @Test
+  void shouldRejectTooManySubRequests() {
+    var input = new Request<>(
+        List.of(subRequest("a", FOUND_ID), subRequest("b", FOUND_ID), subRequest("c", FOUND_ID)),
+        null, null);
+
+    assertThrows(InvalidCompositeReadRequestException.class, () -> instance.request(input));
+  }
+
+  @Test
+  void shouldRejectDuplicateNames() {
+    var input = new Request<>(
+        List.of(subRequest("a", FOUND_ID), subRequest("a", MISSING_ID)), null, null);
+
+    assertThrows(InvalidCompositeReadRequestException.class, () -> instance.request(input));
+  }
+
+  @Test
+  void shouldNotResolveBeansOtherThanReadHandlers() {
+    var input = new Request<>(List.of(subRequest("found", FOUND_ID)), null, null);
+
+    assertThrows(NotFoundException.class, () -> instance.request(input));
+    verify(beanFactory, never()).getBean(anyString());
+  }
+
+  @Test
+  void shouldResolveOnlyAllowedHandlers() {
+    instance = new CompositeReadService(beanFactory, new ObjectMapper(), transactionManager,
+        Runnable::run, 1, 2, List.of("otherHandler"));
+    when(beanFactory.getBeansOfType(QueryHandler.class, false, false))
+        .thenReturn(Map.<String, QueryHandler>of(HANDLER, queryHandler));
+    var input = new Request<>(List.of(subRequest("found", FOUND_ID)), null, null);
+
+    assertThrows(NotFoundException.class, () -> instance.request(input));
+    verify(queryHandler, never()).findById(any());
+  }
+
+  @Test
+  void shouldExposeNoHandlersByDefault() {
+    instance = new CompositeReadService(
+        beanFactory, new ObjectMapper(), transactionManager, Runnable::run, 1, 2, List.of());
+    var input = new Request<>(List.of(subRequest("found", FOUND_ID)), null, null);
+
+    assertThrows(NotFoundException.class, () -> instance.request(input));
+    verifyNoInteractions(beanFactory);
+  }
+
+  @Test
+  void shouldNotExposeHandlerWithoutAccessCheck() {
+    var plainSearchHandler = mock(SearchHandler.class);
+    when(beanFactory.getBeansOfType(SearchHandler.class, false, false))
+        .thenReturn(Map.<String, SearchHandler>of(SEARCH_HANDLER, plainSearchHandler));
+    var subRequest = new CompositeReadRequest();
+    subRequest.setName("search");
+    subRequest.setHandler(SEARCH_HANDLER);
+    subRequest.setPayload(new ObjectMapper().createObjectNode());
+    var input = new Request<>(List.of(subRequest), null, null);
+
+    assertThrows(NotFoundException.class, () -> instance.request(input));
+    verifyNoInteractions(plainSearchHandler);
+  }
+
+  @Test
+  void shouldCheckSearchHandlerAccessPerSubRequest() {
+    when(beanFactory.getBeansOfType(SearchHandler.class, false, false))
+        .thenReturn(Map.<String, SearchHandler>of(SEARCH_HANDLER, searchHandler));
+    doThrow(new ForbiddenOperationException("forbidden"))
+        .when(searchHandler).validateAccess(any());
+    var subRequest = new CompositeReadRequest();
+    subRequest.setName("search");
+    subRequest.setHandler(SEARCH_HANDLER);
+    subRequest.setPayload(new ObjectMapper().createObjectNode());
+    var input = new Request<>(List.of(subRequest), null, null);
+
+    assertThrows(ForbiddenOperationException.class, () -> instance.request(input));
+    verify(searchHandler, never()).search(any());
+  }
+
+  @Nested
+  class Parallel {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void init() {
+      executor = Executors.newFixedThreadPool(2);
+      instance = new CompositeReadService(
+          beanFactory, new ObjectMapper(), transactionManager, executor, 2, 3, List.of(HANDLER));
+    }
+
+    @AfterEach
+    void tearDown() {
+      executor.shutdownNow();
+    }
+
+    @Test
+    void shouldExecuteSubRequestsInParallelKeepingOrder() {
+      when(beanFactory.getBeansOfType(QueryHandler.class, false, false))
+          .thenReturn(Map.<String, QueryHandler>of(HANDLER, queryHandler));
+      var entity = new MockEntity();
+      entity.setConsentId(FOUND_ID);
+      when(queryHandler.findById(any()))
+          .thenAnswer(invocation -> {
+            Request<UUID> request = invocation.getArgument(0);
+            return FOUND_ID.equals(request.getPayload()) ? Optional.of(entity) : Optional.empty();
+          });
+
+      var result = instance.request(new Request<>(List.of(
+          subRequest("a", FOUND_ID), subRequest("b", MISSING_ID), subRequest("c", FOUND_ID)),
+          null, null));
+
+      assertThat(result).containsOnlyKeys("a", "b", "c");
+      assertThat(result.keySet()).containsExactly("a", "b", "c");
+      assertThat(result.get("a").getPayload()).isEqualTo(entity);
+      assertThat(result.get("b").getStatus()).isEqualTo(Status.NOT_FOUND);
+      assertThat(result.get("c").getStatus()).isEqualTo(Status.SUCCESS);
+      verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void shouldRethrowSubRequestFailure() {
+      when(beanFactory.getBeansOfType(QueryHandler.class, false, false))
+          .thenReturn(Map.<String, QueryHandler>of(HANDLER, queryHandler));
+      when(queryHandler.findById(any())).thenThrow(new ForbiddenOperationException("forbidden"));
+      var input = new Request<>(
+          List.of(subRequest("a", FOUND_ID), subRequest("b", MISSING_ID)), null, null);
+
+      assertThrows(ForbiddenOperationException.class, () -> instance.request(input));
+    }
+
+    @Test
+    void shouldFailWhenExecutorRejectsSubRequest() {
+      Executor rejecting = command -> {
+        throw new RejectedExecutionException("queue is full");
+      };
+      instance = new CompositeReadService(
+          beanFactory, new ObjectMapper(), transactionManager, rejecting, 2, 3, List.of(HANDLER));
+      var input = new Request<>(
+          List.of(subRequest("a", FOUND_ID), subRequest("b", MISSING_ID)), null, null);
+
+      assertThrows(RejectedExecutionException.class, () -> instance.request(input));
+    }
+  }
+
+  private CompositeReadRequest subRequest(String name, UUID id) {
+    var subRequest = new CompositeReadRequest();
+    subRequest.setName(name);
+    subRequest.setHandler(HANDLER);
+    subRequest.setPayload(new TextNode(id.toString()));
+    return subRequest;
+  }
+}
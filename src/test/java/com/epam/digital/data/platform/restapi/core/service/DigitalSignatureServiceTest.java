@@ -24,6 +24,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.epam.digital.data.platform.dso.api.dto.ErrorDto;
+import com.epam.digital.data.platform.dso.api.dto.SignRequestDto;
 import com.epam.digital.data.platform.dso.api.dto.SignResponseDto;
 import com.epam.digital.data.platform.dso.api.dto.VerificationRequestDto;
 import com.epam.digital.data.platform.dso.api.dto.VerificationResponseDto;
@@ -88,7 +89,7 @@ class DigitalSignatureServiceTest {
 
     digitalSignatureService = new DigitalSignatureService(lowcodeCephService,
         datafactoryCephService, cephService, DATAFACTORY_BUCKET,
-        digitalSealRestClient, OBJECT_MAPPER);
+        digitalSealRestClient, OBJECT_MAPPER, Runnable::run);
 
     securityContext = new SecurityContext(null, X_DIG_SIG, X_DIG_SIG_DERIVED);
 
@@ -100,7 +101,7 @@ class DigitalSignatureServiceTest {
   void validSignatureTest() throws JsonProcessingException {
     when(lowcodeCephService.getFormData(X_DIG_SIG_DERIVED)).thenReturn(Optional.of(RESPONSE_FROM_CEPH));
 
-    digitalSignatureService.checkSignature(DATA, securityContext);
+    readAndCheckSignature();
 
     ArgumentCaptor<VerificationRequestDto> requestCaptor = ArgumentCaptor
         .forClass(VerificationRequestDto.class);
@@ -119,7 +120,7 @@ class DigitalSignatureServiceTest {
 
     String exceptionMessage = null;
     try {
-      digitalSignatureService.checkSignature(DATA, securityContext);
+      readAndCheckSignature();
     } catch (Exception e) {
       exceptionMessage = e.getMessage();
     }
@@ -139,18 +140,18 @@ class DigitalSignatureServiceTest {
         .thenThrow(new CephCommunicationException("", new RuntimeException()));
 
     assertThrows(CephCommunicationException.class,
-        () -> digitalSignatureService.checkSignature(DATA, securityContext));
+        this::readAndCheckSignature);
   }
 
   @Test
   void cephServiceNotFoundSignature() {
     when(lowcodeCephService.getFormData(X_DIG_SIG)).thenReturn(Optional.empty());
     assertThrows(DigitalSignatureNotFoundException.class,
-            () -> digitalSignatureService.checkSignature(DATA, securityContext));
+            this::readAndCheckSignature);
 
     when(lowcodeCephService.getFormData(X_DIG_SIG_DERIVED)).thenReturn(Optional.empty());
     assertThrows(DigitalSignatureNotFoundException.class,
-        () -> digitalSignatureService.checkSignature(DATA, securityContext));
+        this::readAndCheckSignature);
   }
 
   @Test
@@ -159,7 +160,7 @@ class DigitalSignatureServiceTest {
         .thenThrow(new MisconfigurationException("Bucket A not found"));
 
     assertThrows(MisconfigurationException.class,
-        () -> digitalSignatureService.checkSignature(DATA, securityContext));
+        this::readAndCheckSignature);
   }
 
   @Test
@@ -167,8 +168,7 @@ class DigitalSignatureServiceTest {
     when(lowcodeCephService.getFormData(X_DIG_SIG_DERIVED)).thenReturn(Optional.of(RESPONSE_FROM_CEPH));
     when(digitalSealRestClient.verify(any())).thenThrow(BadRequestException.class);
 
-    assertThrows(KepServiceBadRequestException.class, () -> digitalSignatureService
-        .checkSignature(DATA, securityContext));
+    assertThrows(KepServiceBadRequestException.class, this::readAndCheckSignature);
   }
 
   @Test
@@ -176,8 +176,7 @@ class DigitalSignatureServiceTest {
     when(lowcodeCephService.getFormData(X_DIG_SIG_DERIVED)).thenReturn(Optional.of(RESPONSE_FROM_CEPH));
     when(digitalSealRestClient.verify(any())).thenThrow(InternalServerErrorException.class);
 
-    assertThrows(KepServiceInternalServerErrorException.class, () -> digitalSignatureService
-        .checkSignature(DATA, securityContext));
+    assertThrows(KepServiceInternalServerErrorException.class, this::readAndCheckSignature);
   }
 
   @Test
@@ -185,8 +184,7 @@ class DigitalSignatureServiceTest {
     when(lowcodeCephService.getFormData(X_DIG_SIG_DERIVED)).thenReturn(Optional.of(RESPONSE_FROM_CEPH));
     when(digitalSealRestClient.verify(any())).thenThrow(InvalidSignatureException.class);
 
-    assertThrows(InvalidSignatureException.class, () -> digitalSignatureService
-            .checkSignature(DATA, securityContext));
+    assertThrows(InvalidSignatureException.class, this::readAndCheckSignature);
   }
 
   @Test
@@ -200,6 +198,33 @@ class DigitalSignatureServiceTest {
     assertEquals("Signature", responseDto);
   }
 
+  @Test
+  void shouldSignSerializedContentAsIs() {
+    SignResponseDto signResponseDto = new SignResponseDto();
+    signResponseDto.setSignature("Signature");
+    when(digitalSealRestClient.sign(any())).thenReturn(signResponseDto);
+
+    String responseDto = digitalSignatureService.signSerialized("{\"payload\":{}}".getBytes());
+
+    var captor = ArgumentCaptor.forClass(SignRequestDto.class);
+    verify(digitalSealRestClient).sign(captor.capture());
+    assertEquals("{\"payload\":{}}", captor.getValue().getData());
+    assertEquals("Signature", responseDto);
+  }
+
+  @Test
+  void shouldSignBase64OfBinaryContent() {
+    SignResponseDto signResponseDto = new SignResponseDto();
+    signResponseDto.setSignature("Signature");
+    when(digitalSealRestClient.sign(any())).thenReturn(signResponseDto);
+
+    digitalSignatureService.signBinary(new byte[] {(byte) 0xC3, (byte) 0x28, 0});
+
+    var captor = ArgumentCaptor.forClass(SignRequestDto.class);
+    verify(digitalSealRestClient).sign(captor.capture());
+    assertEquals("wygA", captor.getValue().getData());
+  }
+
   @Test
   void shouldCallPutContentWithAppropriateParameters() {
     digitalSignatureService.store("value");
@@ -211,10 +236,72 @@ class DigitalSignatureServiceTest {
   void shouldCallMethodsWithAppropriateParameters() {
     when(lowcodeCephService.getFormData(X_DIG_SIG)).thenReturn(Optional.of(RESPONSE_FROM_CEPH));
 
-    String result = digitalSignatureService.copySignature(X_DIG_SIG);
+    var signatures = digitalSignatureService.readSignatures(securityContext);
+    String result = digitalSignatureService.copySignature(X_DIG_SIG, signatures);
 
     verify(lowcodeCephService).getFormData(X_DIG_SIG);
     verify(datafactoryCephService).putFormData(X_DIG_SIG, RESPONSE_FROM_CEPH);
     assertEquals(CEPH_OBJECT, result);
   }
+
+  @Test
+  void shouldReadEachSignatureOnceForVerificationAndCopy() {
+    when(lowcodeCephService.getFormData(X_DIG_SIG)).thenReturn(Optional.of(RESPONSE_FROM_CEPH));
+    when(lowcodeCephService.getFormData(X_DIG_SIG_DERIVED))
+        .thenReturn(Optional.of(RESPONSE_FROM_CEPH));
+
+    var signatures = digitalSignatureService.readSignatures(securityContext);
+    digitalSignatureService.checkSignature(DATA, securityContext, signatures);
+    digitalSignatureService.copySignature(X_DIG_SIG, signatures);
+    String result = digitalSignatureService.copySignature(X_DIG_SIG_DERIVED, signatures);
+
+    verify(lowcodeCephService).getFormData(X_DIG_SIG);
+    verify(lowcodeCephService).getFormData(X_DIG_SIG_DERIVED);
+    verify(datafactoryCephService).putFormData(X_DIG_SIG_DERIVED, RESPONSE_FROM_CEPH);
+    assertEquals(CEPH_OBJECT, result);
+  }
+
+  @Test
+  void shouldReadSharedSignatureKeyOnce() {
+    securityContext = new SecurityContext(null, X_DIG_SIG, X_DIG_SIG);
+    when(lowcodeCephService.getFormData(X_DIG_SIG)).thenReturn(Optional.of(RESPONSE_FROM_CEPH));
+
+    var signatures = digitalSignatureService.readSignatures(securityContext);
+    digitalSignatureService.checkSignature(DATA, securityContext, signatures);
+    digitalSignatureService.copySignature(X_DIG_SIG, signatures);
+
+    verify(lowcodeCephService).getFormData(X_DIG_SIG);
+  }
+
+  @Test
+  void shouldVerifyBeforeReportingMissingSignature() {
+    when(lowcodeCephService.getFormData(X_DIG_SIG)).thenReturn(Optional.empty());
+    when(lowcodeCephService.getFormData(X_DIG_SIG_DERIVED))
+        .thenReturn(Optional.of(INVALID_RESPONSE_FROM_CEPH));
+    when(digitalSealRestClient.verify(any()))
+        .thenReturn(new VerificationResponseDto(false, errorDto));
+
+    var signatures = digitalSignatureService.readSignatures(securityContext);
+
+    assertThrows(InvalidSignatureException.class,
+        () -> digitalSignatureService.checkSignature(DATA, securityContext, signatures));
+    assertThrows(DigitalSignatureNotFoundException.class,
+        () -> digitalSignatureService.copySignature(X_DIG_SIG, signatures));
+  }
+
+  @Test
+  void shouldReportDerivedSignatureReadFailureOnVerification() {
+    when(lowcodeCephService.getFormData(X_DIG_SIG_DERIVED))
+        .thenThrow(new CephCommunicationException("", new RuntimeException()));
+
+    var signatures = digitalSignatureService.readSignatures(securityContext);
+
+    assertThrows(CephCommunicationException.class,
+        () -> digitalSignatureService.checkSignature(DATA, securityContext, signatures));
+  }
+
+  private void readAndCheckSignature() {
+    var signatures = digitalSignatureService.readSignatures(securityContext);
+    digitalSignatureService.checkSignature(DATA, securityContext, signatures);
+  }
 }
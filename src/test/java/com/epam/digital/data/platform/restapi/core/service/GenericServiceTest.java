@@ -22,45 +22,69 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.epam.digital.data.platform.integration.ceph.exception.MisconfigurationException;
+import com.epam.digital.data.platform.integration.ceph.model.CephObject;
 import com.epam.digital.data.platform.integration.ceph.service.CephService;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import com.epam.digital.data.platform.model.core.kafka.ResponseHeaders;
 import com.epam.digital.data.platform.model.core.kafka.Status;
 import com.epam.digital.data.platform.restapi.core.dto.MockEntity;
+import com.epam.digital.data.platform.restapi.core.exception.InvalidPatchException;
 import com.epam.digital.data.platform.restapi.core.exception.KafkaCephResponseNotFoundException;
+import com.epam.digital.data.platform.restapi.core.exception.KafkaRequestRejectedException;
 import com.epam.digital.data.platform.restapi.core.exception.NoKafkaResponseException;
+import com.epam.digital.data.platform.restapi.core.idempotency.IdempotencyService;
+import com.epam.digital.data.platform.restapi.core.kafka.HashedWheelTimer;
+import com.epam.digital.data.platform.restapi.core.kafka.InFlightRequestRegistry;
+import com.epam.digital.data.platform.restapi.core.kafka.PayloadCodec;
+import com.epam.digital.data.platform.restapi.core.kafka.PayloadCodecs;
+import com.epam.digital.data.platform.restapi.core.kafka.ReplyCorrelationEngine;
+import com.epam.digital.data.platform.restapi.core.model.SerializedRequest;
 import com.epam.digital.data.platform.starter.kafka.config.properties.KafkaProperties;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
-import java.util.Collections;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
 import org.springframework.kafka.requestreply.RequestReplyFuture;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.concurrent.SettableListenableFuture;
 
 @ExtendWith(MockitoExtension.class)
 class GenericServiceTest {
@@ -74,11 +98,21 @@ class GenericServiceTest {
   @Mock
   ReplyingKafkaTemplate<String, Request<UUID>, String> replyingKafkaTemplate;
   @Mock
+  ReplyingKafkaTemplate<String, Request<UUID>, byte[]> byteReplyingKafkaTemplate;
+  @Mock
   DigitalSignatureService digitalSignatureService;
   @Mock
   TraceProvider traceProvider;
   @Mock
   CephService cephService;
+  @Mock
+  CephDeletionQueue deletionQueue;
+  @Mock
+  LargeRequestStorage largeRequestStorage;
+  @Mock
+  PayloadCodecs payloadCodecs;
+  @Mock
+  PayloadCodec payloadCodec;
 
   ObjectMapper objectMapper = new ObjectMapper();
 
@@ -94,7 +128,7 @@ class GenericServiceTest {
     topics.setReply("replay-topic");
 
     instance = new GenericServiceTestImpl(replyingKafkaTemplate, topics,
-        digitalSignatureService, traceProvider, cephService, objectMapper, false, BUCKET_NAME);
+        digitalSignatureService, traceProvider, cephService, deletionQueue, objectMapper, Runnable::run, false, BUCKET_NAME);
   }
 
   @Nested
@@ -119,6 +153,38 @@ class GenericServiceTest {
       assertThat(response.getPayload().getPersonFullName()).isEqualTo(expected);
     }
 
+    @Test
+    void shouldReturnRawPayloadJson() {
+      MockEntity entity = new MockEntity();
+      entity.setPersonFullName("Some Name");
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture =
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), entity);
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+
+      Response<byte[]> response = instance.requestAsJson(new Request<>(ID, null, null));
+
+      assertThat(response.getStatus()).isEqualTo(Status.SUCCESS);
+      assertThat(new String(response.getPayload(), StandardCharsets.UTF_8))
+          .isEqualTo(toJsonStr(entity));
+    }
+
+    @Test
+    void shouldReadByteArrayReply() {
+      instance = new GenericServiceTestImpl(byteReplyingKafkaTemplate, topics,
+          digitalSignatureService, traceProvider, cephService, deletionQueue, objectMapper, Runnable::run, false, BUCKET_NAME);
+      RequestReplyFuture<String, Request<UUID>, byte[]> replyFuture = new RequestReplyFuture<>();
+      replyFuture.set(new ConsumerRecord<>("out", 0, 0, null,
+          "{\"payload\":{\"personFullName\":\"Some Name\"},\"status\":\"SUCCESS\"}"
+              .getBytes(StandardCharsets.UTF_8)));
+      when(byteReplyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class)))
+          .thenReturn(replyFuture);
+
+      Response<MockEntity> response = instance.request(new Request<>(ID, null, null));
+
+      assertThat(response.getPayload().getPersonFullName()).isEqualTo("Some Name");
+      assertThat(response.getStatus()).isEqualTo(Status.SUCCESS);
+    }
+
     @Test
     void shouldThrowExceptionWhenTimeout()
         throws ExecutionException, InterruptedException, TimeoutException {
@@ -149,6 +215,129 @@ class GenericServiceTest {
     }
   }
 
+  @Nested
+  class AsyncFlow {
+
+    @Test
+    void shouldSendRequestAsync() throws Exception {
+      String expected = "Some Name";
+
+      MockEntity entity = new MockEntity();
+      entity.setPersonFullName(expected);
+
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture =
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), entity);
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+
+      Response<MockEntity> response = instance.requestAsync(new Request<>(ID, null, null)).get();
+
+      assertThat(response.getPayload().getPersonFullName()).isEqualTo(expected);
+      verify(replyingKafkaTemplate).sendAndReceive(captor.capture());
+      assertThat(captor.getValue().headers().lastHeader(KafkaHeaders.REPLY_TOPIC).value())
+          .isEqualTo(topics.getReply().getBytes());
+    }
+
+    @Test
+    void shouldNotBlockWhileReplyIsPending() {
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture = new RequestReplyFuture<>();
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+
+      var response = instance.requestAsync(new Request<>(ID, null, null));
+
+      assertThat(response).isNotDone();
+    }
+
+    @Test
+    void shouldCompleteExceptionallyWhenNoResponse() {
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture = new RequestReplyFuture<>();
+      replyFuture.setException(new InterruptedException());
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+
+      var response = instance.requestAsync(new Request<>(ID, null, null));
+
+      var exception = assertThrows(ExecutionException.class, response::get);
+      assertThat(exception.getCause()).isInstanceOf(NoKafkaResponseException.class);
+    }
+  }
+
+  @Nested
+  class BulkFlow {
+
+    @Test
+    void shouldReturnResponsesInRequestOrder() {
+      MockEntity first = new MockEntity();
+      first.setPersonFullName("first");
+      MockEntity second = new MockEntity();
+      second.setPersonFullName("second");
+
+      RequestReplyFuture<String, Request<UUID>, String> firstReply =
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), first);
+      RequestReplyFuture<String, Request<UUID>, String> secondReply =
+          wrapResponseObjectAsKafkaReplayWithStatus(
+              new Request<>(ID, null, null), second, Status.CREATED);
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class)))
+          .thenReturn(firstReply, secondReply);
+
+      List<Response<MockEntity>> responses = instance.requestBulk(
+          List.of(new Request<>(ID, null, null), new Request<>(ID, null, null)));
+
+      assertThat(responses).hasSize(2);
+      assertThat(responses.get(0).getPayload().getPersonFullName()).isEqualTo("first");
+      assertThat(responses.get(0).getStatus()).isEqualTo(Status.SUCCESS);
+      assertThat(responses.get(1).getPayload().getPersonFullName()).isEqualTo("second");
+      assertThat(responses.get(1).getStatus()).isEqualTo(Status.CREATED);
+    }
+
+    @Test
+    void shouldReportItemWithoutReplyAsUnavailable() {
+      RequestReplyFuture<String, Request<UUID>, String> failedReply = new RequestReplyFuture<>();
+      failedReply.setException(new InterruptedException());
+      RequestReplyFuture<String, Request<UUID>, String> successReply =
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), new MockEntity());
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class)))
+          .thenReturn(failedReply, successReply);
+
+      List<Response<MockEntity>> responses = instance.requestBulk(
+          List.of(new Request<>(ID, null, null), new Request<>(ID, null, null)));
+
+      assertThat(responses.get(0).getStatus()).isEqualTo(Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
+      assertThat(responses.get(1).getStatus()).isEqualTo(Status.SUCCESS);
+    }
+
+    @Test
+    void shouldReportItemThatWasNotSentAsUnavailable() {
+      RequestReplyFuture<String, Request<UUID>, String> successReply =
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), new MockEntity());
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class)))
+          .thenThrow(new KafkaException("Send failed"))
+          .thenReturn(successReply);
+
+      List<Response<MockEntity>> responses = instance.requestBulk(
+          List.of(new Request<>(ID, null, null), new Request<>(ID, null, null)));
+
+      assertThat(responses.get(0).getStatus()).isEqualTo(Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
+      assertThat(responses.get(0).getDetails()).isEqualTo("Send failed");
+      assertThat(responses.get(1).getStatus()).isEqualTo(Status.SUCCESS);
+    }
+
+    @Test
+    void shouldReportItemRejectedByResponseExecutorAsUnavailable() {
+      Executor rejecting = command -> {
+        throw new RejectedExecutionException("queue is full");
+      };
+      ReflectionTestUtils.setField(instance, "kafkaResponseExecutor", rejecting);
+      RequestReplyFuture<String, Request<UUID>, String> successReply =
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), new MockEntity());
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class)))
+          .thenReturn(successReply);
+
+      List<Response<MockEntity>> responses =
+          instance.requestBulk(List.of(new Request<>(ID, null, null)));
+
+      assertThat(responses.get(0).getStatus()).isEqualTo(Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
+    }
+  }
+
   @Nested
   class LargeResponse {
 
@@ -166,40 +355,61 @@ class GenericServiceTest {
       when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
       String cephContent =
           "{\"payload\":{\"personFullName\":\"" + expected + "\"}, \"status\":\"SUCCESS\"}";
-      when(cephService.getAsString(BUCKET_NAME, CEPH_RESPONSE_KEY))
-          .thenReturn(Optional.of(cephContent));
+      when(cephService.get(BUCKET_NAME, CEPH_RESPONSE_KEY))
+          .thenReturn(Optional.of(cephObject(cephContent)));
 
       // when
       Response<MockEntity> response = instance.request(new Request<>(ID, null, null));
 
       // then
-      verify(cephService).getAsString(BUCKET_NAME, CEPH_RESPONSE_KEY);
+      verify(cephService).get(BUCKET_NAME, CEPH_RESPONSE_KEY);
       assertThat(response.getPayload().getPersonFullName()).isEqualTo(expected);
       assertThat(response.getStatus()).isEqualTo(Status.SUCCESS);
 
-      verify(cephService).delete(BUCKET_NAME, Collections.singleton(CEPH_RESPONSE_KEY));
+      verify(deletionQueue).enqueue(CEPH_RESPONSE_KEY);
     }
 
     @Test
-    void expectNoExceptionThrownIfCannotDeleteFromCeph() throws JsonProcessingException {
-      // given
+    void expectProcessedContentNotDeletedOnRequestThread() throws JsonProcessingException {
       RequestReplyFuture<String, Request<UUID>, String> replyFuture =
           wrapResponseWithCephHeaderAsKafkaReplay();
       when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+      when(cephService.get(BUCKET_NAME, CEPH_RESPONSE_KEY))
+          .thenReturn(Optional.of(cephObject("{\"status\":\"SUCCESS\"}")));
 
-      String cephContent = "{\"status\":\"SUCCESS\"}";
-      when(cephService.getAsString(BUCKET_NAME, CEPH_RESPONSE_KEY))
-          .thenReturn(Optional.of(cephContent));
+      Response<MockEntity> response = instance.request(new Request<>(ID, null, null));
 
-      doThrow(new MisconfigurationException(""))
-          .when(cephService)
-          .delete(BUCKET_NAME, Collections.singleton(CEPH_RESPONSE_KEY));
+      assertThat(response.getStatus()).isEqualTo(Status.SUCCESS);
+      verify(cephService, never()).delete(any(), any());
+      verify(deletionQueue).enqueue(CEPH_RESPONSE_KEY);
+    }
 
-      // when
-      assertDoesNotThrow(() -> instance.request(new Request<>(ID, null, null)));
+    @Test
+    void expectRawPayloadFromCeph() throws JsonProcessingException {
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture =
+          wrapResponseWithCephHeaderAsKafkaReplay();
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+      when(cephService.get(BUCKET_NAME, CEPH_RESPONSE_KEY)).thenReturn(Optional.of(
+          cephObject("{\"payload\":{\"personFullName\":\"Some Name\"},\"status\":\"SUCCESS\"}")));
 
-      // then
-      verify(cephService).delete(BUCKET_NAME, Collections.singleton(CEPH_RESPONSE_KEY));
+      Response<byte[]> response = instance.requestAsJson(new Request<>(ID, null, null));
+
+      assertThat(new String(response.getPayload(), StandardCharsets.UTF_8))
+          .isEqualTo("{\"personFullName\":\"Some Name\"}");
+      verify(deletionQueue).enqueue(CEPH_RESPONSE_KEY);
+    }
+
+    @Test
+    void expectUnparseableContentStillEnqueuedForDeletion() throws JsonProcessingException {
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture =
+          wrapResponseWithCephHeaderAsKafkaReplay();
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+      when(cephService.get(BUCKET_NAME, CEPH_RESPONSE_KEY))
+          .thenReturn(Optional.of(cephObject("{\"status\":")));
+
+      assertThrows(RuntimeException.class, () -> instance.request(new Request<>(ID, null, null)));
+
+      verify(deletionQueue).enqueue(CEPH_RESPONSE_KEY);
     }
 
     @Test
@@ -208,7 +418,7 @@ class GenericServiceTest {
           wrapResponseWithCephHeaderAsKafkaReplay();
       when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
 
-      when(cephService.getAsString(BUCKET_NAME, CEPH_RESPONSE_KEY)).thenReturn(Optional.empty());
+      when(cephService.get(BUCKET_NAME, CEPH_RESPONSE_KEY)).thenReturn(Optional.empty());
 
       assertThrows(KafkaCephResponseNotFoundException.class,
           () -> instance.request(new Request<>(ID, null, null)));
@@ -222,7 +432,7 @@ class GenericServiceTest {
     void shouldSignPayload() {
       // given
       instance = new GenericServiceTestImpl(replyingKafkaTemplate, topics,
-          digitalSignatureService, traceProvider, cephService, objectMapper, true, BUCKET_NAME);
+          digitalSignatureService, traceProvider, cephService, deletionQueue, objectMapper, Runnable::run, true, BUCKET_NAME);
       String expected = "signature";
 
       RequestReplyFuture<String, Request<UUID>, String> replyFuture =
@@ -235,7 +445,7 @@ class GenericServiceTest {
       instance.request(new Request<>(ID, null, null));
 
       // then
-      verify(digitalSignatureService).sign(any());
+      verify(digitalSignatureService).signSerialized(any());
       verify(digitalSignatureService).store(any());
     }
 
@@ -243,7 +453,7 @@ class GenericServiceTest {
     void shouldAddSignatureHeader() {
       // given
       instance = new GenericServiceTestImpl(replyingKafkaTemplate, topics,
-          digitalSignatureService, traceProvider, cephService, objectMapper, true, BUCKET_NAME);
+          digitalSignatureService, traceProvider, cephService, deletionQueue, objectMapper, Runnable::run, true, BUCKET_NAME);
 
       String expected = "signature";
 
@@ -263,6 +473,416 @@ class GenericServiceTest {
     }
   }
 
+  @Nested
+  class ClaimCheck {
+
+    @BeforeEach
+    void setUp() {
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture =
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), new MockEntity());
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+    }
+
+    @Test
+    void shouldSendKeyOfLargeRequestStoredInCeph() {
+      storeRequests();
+
+      instance.request(new Request<>(ID, null, null));
+
+      verify(replyingKafkaTemplate).sendAndReceive(captor.capture());
+      var record = captor.getValue();
+      assertThat(record.value().getPayload()).isNull();
+      assertThat(record.headers().lastHeader(LargeRequestStorage.CEPH_REQUEST_KEY_HEADER).value())
+          .isEqualTo("request-key".getBytes());
+      assertThat(record.headers().lastHeader(LargeRequestStorage.CEPH_REQUEST_ENCODING_HEADER))
+          .isNull();
+    }
+
+    @Test
+    void shouldDeleteStoredRequestWhenNoReply() {
+      storeRequests();
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture = new RequestReplyFuture<>();
+      replyFuture.setException(new InterruptedException());
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+
+      assertThrows(NoKafkaResponseException.class,
+          () -> instance.request(new Request<>(ID, null, null)));
+
+      verify(largeRequestStorage).delete("request-key");
+    }
+
+    @Test
+    void shouldDeleteStoredRequestWhenSendFails() {
+      storeRequests();
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class)))
+          .thenThrow(new KafkaException("send failed"));
+
+      assertThrows(KafkaException.class, () -> instance.request(new Request<>(ID, null, null)));
+
+      verify(largeRequestStorage).delete("request-key");
+    }
+
+    @Test
+    void shouldDeleteStoredRequestWhenNoAsyncReply() {
+      storeRequests();
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture = new RequestReplyFuture<>();
+      replyFuture.setException(new InterruptedException());
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+
+      var response = instance.requestAsync(new Request<>(ID, null, null));
+
+      assertThrows(ExecutionException.class, response::get);
+      verify(largeRequestStorage).delete("request-key");
+    }
+
+    @Test
+    void shouldLeaveStoredRequestToConsumerAfterReply() {
+      storeRequests();
+
+      instance.request(new Request<>(ID, null, null));
+
+      verify(largeRequestStorage, never()).delete(any());
+    }
+
+    @Test
+    void shouldSendSmallRequestAsIs() {
+      ReflectionTestUtils.setField(instance, "largeRequestStorage", largeRequestStorage);
+      when(largeRequestStorage.isEnabled()).thenReturn(true);
+      when(largeRequestStorage.exceedsThreshold(any())).thenReturn(false);
+
+      instance.request(new Request<>(ID, null, null));
+
+      verify(replyingKafkaTemplate).sendAndReceive(captor.capture());
+      assertThat(captor.getValue().value().getPayload()).isEqualTo(ID);
+      assertThat(captor.getValue().headers().lastHeader(LargeRequestStorage.CEPH_REQUEST_KEY_HEADER))
+          .isNull();
+    }
+
+    private void storeRequests() {
+      ReflectionTestUtils.setField(instance, "largeRequestStorage", largeRequestStorage);
+      when(largeRequestStorage.isEnabled()).thenReturn(true);
+      when(largeRequestStorage.exceedsThreshold(any())).thenReturn(true);
+      when(largeRequestStorage.store(any())).thenReturn("request-key");
+    }
+  }
+
+  @Nested
+  class BinaryCodec {
+
+    @Test
+    void shouldEncodeRequestWithConfiguredCodec() {
+      ReflectionTestUtils.setField(instance, "payloadCodecs", payloadCodecs);
+      when(payloadCodecs.isBinaryWriter()).thenReturn(true);
+      when(payloadCodecs.getWriter()).thenReturn(payloadCodec);
+      when(payloadCodec.getName()).thenReturn("avro");
+      when(payloadCodec.encode(any(), any())).thenReturn(new byte[] {1, 2, 3});
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture =
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), new MockEntity());
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+
+      instance.request(new Request<>(ID, null, null));
+
+      verify(replyingKafkaTemplate).sendAndReceive(captor.capture());
+      var record = captor.getValue();
+      assertThat(((SerializedRequest<UUID>) record.value()).getSerialized())
+          .isEqualTo(new byte[] {1, 2, 3});
+      assertThat(record.headers().lastHeader(PayloadCodec.HEADER).value())
+          .isEqualTo("avro".getBytes());
+    }
+
+    @Test
+    void shouldDecodeReplyWithCodecFromHeader() {
+      instance = new GenericServiceTestImpl(byteReplyingKafkaTemplate, topics,
+          digitalSignatureService, traceProvider, cephService, deletionQueue, objectMapper, Runnable::run, false, BUCKET_NAME);
+      ReflectionTestUtils.setField(instance, "payloadCodecs", payloadCodecs);
+      Response<MockEntity> decoded = new Response<>();
+      decoded.setStatus(Status.SUCCESS);
+      when(payloadCodecs.forName("avro")).thenReturn(Optional.of(payloadCodec));
+      when(payloadCodec.decode(any(), any())).thenReturn(decoded);
+      var reply = new ConsumerRecord<String, byte[]>("out", 0, 0, null, new byte[] {1});
+      reply.headers().add(PayloadCodec.HEADER, "avro".getBytes());
+      RequestReplyFuture<String, Request<UUID>, byte[]> replyFuture = new RequestReplyFuture<>();
+      replyFuture.set(reply);
+      when(byteReplyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class)))
+          .thenReturn(replyFuture);
+
+      Response<MockEntity> response = instance.request(new Request<>(ID, null, null));
+
+      assertThat(response).isSameAs(decoded);
+    }
+
+    @Test
+    void shouldSealAndFingerprintEncodedRequest() {
+      instance = new GenericServiceTestImpl(replyingKafkaTemplate, topics,
+          digitalSignatureService, traceProvider, cephService, deletionQueue, objectMapper, Runnable::run, true, BUCKET_NAME);
+      ReflectionTestUtils.setField(instance, "payloadCodecs", payloadCodecs);
+      when(payloadCodecs.isBinaryWriter()).thenReturn(true);
+      when(payloadCodecs.getWriter()).thenReturn(payloadCodec);
+      when(payloadCodec.getName()).thenReturn("avro");
+      when(payloadCodec.encode(any(), any())).thenReturn(new byte[] {1, 2, 3});
+      when(payloadCodec.schemaFingerprint(any())).thenReturn(Optional.of("fingerprint"));
+      when(digitalSignatureService.signBinary(any())).thenReturn("seal");
+      when(digitalSignatureService.store("seal")).thenReturn("seal-key");
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture =
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), new MockEntity());
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+
+      instance.request(new Request<>(ID, null, null));
+
+      verify(digitalSignatureService).signBinary(new byte[] {1, 2, 3});
+      verify(replyingKafkaTemplate).sendAndReceive(captor.capture());
+      assertThat(captor.getValue().headers().lastHeader(PayloadCodec.SCHEMA_HEADER).value())
+          .isEqualTo("fingerprint".getBytes());
+    }
+
+    @Test
+    void shouldRejectReplyEncodedWithDifferentSchema() {
+      instance = new GenericServiceTestImpl(byteReplyingKafkaTemplate, topics,
+          digitalSignatureService, traceProvider, cephService, deletionQueue, objectMapper, Runnable::run, false, BUCKET_NAME);
+      ReflectionTestUtils.setField(instance, "payloadCodecs", payloadCodecs);
+      when(payloadCodecs.forName("avro")).thenReturn(Optional.of(payloadCodec));
+      when(payloadCodec.schemaFingerprint(any())).thenReturn(Optional.of("local"));
+      var reply = new ConsumerRecord<String, byte[]>("out", 0, 0, null, new byte[] {1});
+      reply.headers().add(PayloadCodec.HEADER, "avro".getBytes());
+      reply.headers().add(PayloadCodec.SCHEMA_HEADER, "remote".getBytes());
+      RequestReplyFuture<String, Request<UUID>, byte[]> replyFuture = new RequestReplyFuture<>();
+      replyFuture.set(reply);
+      when(byteReplyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class)))
+          .thenReturn(replyFuture);
+
+      assertThrows(RuntimeJsonMappingException.class,
+          () -> instance.request(new Request<>(ID, null, null)));
+      verify(payloadCodec, never()).decode(any(), any());
+    }
+  }
+
+  @Nested
+  class InFlightLimit {
+
+    InFlightRequestRegistry inFlightRequestRegistry;
+
+    @BeforeEach
+    void setUp() {
+      inFlightRequestRegistry =
+          new InFlightRequestRegistry(1, 1, Duration.ZERO, new SimpleMeterRegistry());
+      ReflectionTestUtils.setField(instance, "inFlightRequestRegistry", inFlightRequestRegistry);
+    }
+
+    @Test
+    void shouldReleasePermitAfterResponse() {
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), new MockEntity()));
+
+      instance.request(new Request<>(ID, null, null));
+
+      assertPermitReleased();
+    }
+
+    @Test
+    void shouldReleasePermitWhenSendFails() {
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class)))
+          .thenThrow(new KafkaException("send failed"));
+
+      assertThrows(RuntimeException.class, () -> instance.request(new Request<>(ID, null, null)));
+
+      assertPermitReleased();
+    }
+
+    @Test
+    void shouldReleasePermitAfterAsyncResponse() throws Exception {
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), new MockEntity()));
+
+      instance.requestAsync(new Request<>(ID, null, null)).get();
+
+      assertPermitReleased();
+    }
+
+    @Test
+    void shouldReleasePermitWhenAsyncSendFails() {
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class)))
+          .thenThrow(new KafkaException("send failed"));
+
+      assertThrows(KafkaException.class,
+          () -> instance.requestAsync(new Request<>(ID, null, null)));
+
+      assertPermitReleased();
+    }
+
+    @Test
+    void shouldRejectRequestOverLimitWithoutSending() {
+      try (var ignored = inFlightRequestRegistry.acquire(topics.getRequest())) {
+        assertThrows(KafkaRequestRejectedException.class,
+            () -> instance.request(new Request<>(ID, null, null)));
+
+        var response = instance.requestAsync(new Request<>(ID, null, null));
+        var exception = assertThrows(ExecutionException.class, response::get);
+        assertThat(exception.getCause()).isInstanceOf(KafkaRequestRejectedException.class);
+      }
+      verify(replyingKafkaTemplate, never()).sendAndReceive(any(ProducerRecord.class));
+    }
+
+    @Test
+    void shouldNotStoreRequestRejectedByInFlightLimit() {
+      ReflectionTestUtils.setField(instance, "largeRequestStorage", largeRequestStorage);
+
+      try (var ignored = inFlightRequestRegistry.acquire(topics.getRequest())) {
+        assertThrows(KafkaRequestRejectedException.class,
+            () -> instance.request(new Request<>(ID, null, null)));
+      }
+
+      verify(largeRequestStorage, never()).store(any());
+    }
+
+    private void assertPermitReleased() {
+      assertDoesNotThrow(() -> inFlightRequestRegistry.acquire(topics.getRequest()).close());
+    }
+  }
+
+  @Nested
+  class CorrelationEngine {
+
+    HashedWheelTimer timer;
+    ReplyCorrelationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+      timer = new HashedWheelTimer("test-timer", Duration.ofMillis(10), 8);
+      engine = new ReplyCorrelationEngine(timer, Runnable::run, false);
+      ReflectionTestUtils.setField(instance, "replyCorrelationEngine", engine);
+    }
+
+    @AfterEach
+    void tearDown() {
+      timer.stop();
+    }
+
+    @Test
+    void shouldCompleteWithReplyCorrelatedByEngine() throws Exception {
+      when(replyingKafkaTemplate.send(any(ProducerRecord.class)))
+          .thenReturn(new SettableListenableFuture<>());
+      MockEntity entity = new MockEntity();
+      entity.setPersonFullName("Some Name");
+      Response<MockEntity> responseWrapper = new Response<>();
+      responseWrapper.setPayload(entity);
+      responseWrapper.setStatus(Status.SUCCESS);
+
+      var response = instance.requestAsync(new Request<>(ID, null, null));
+      verify(replyingKafkaTemplate).send(captor.capture());
+      var reply = new ConsumerRecord<String, Object>("out", 0, 0, null, toJsonStr(responseWrapper));
+      reply.headers().add(captor.getValue().headers().lastHeader(KafkaHeaders.CORRELATION_ID));
+      engine.onMessage(List.of(reply));
+
+      assertThat(response.get(1, SECONDS).getPayload().getPersonFullName())
+          .isEqualTo("Some Name");
+      verify(replyingKafkaTemplate, never()).sendAndReceive(any(ProducerRecord.class));
+    }
+
+    @Test
+    void shouldFailWhenTemplateStartsItsOwnReplyContainer() {
+      when(replyingKafkaTemplate.isAutoStartup()).thenReturn(true);
+
+      assertThrows(IllegalStateException.class, instance::verifyReplyConfiguration);
+    }
+  }
+
+  @Nested
+  class Patch {
+
+    @Test
+    void shouldSendMergePatchWithContractHeaders() {
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture =
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), new MockEntity());
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+      var patch = objectMapper.createObjectNode().put("personFullName", "New Name");
+
+      instance.requestPatch(new Request<>(patch, null, null), ID);
+
+      verify(replyingKafkaTemplate).sendAndReceive(captor.capture());
+      var record = captor.getValue();
+      assertThat((Object) record.value().getPayload()).isEqualTo(patch);
+      assertThat(record.headers().lastHeader(GenericService.PATCH_FORMAT_HEADER).value())
+          .isEqualTo(GenericService.MERGE_PATCH.getBytes());
+      assertThat(record.headers().lastHeader(GenericService.PATCH_ENTITY_ID_HEADER).value())
+          .isEqualTo(ID.toString().getBytes());
+    }
+
+    @Test
+    void shouldBindIdempotencyKeyToPatchedEntity() {
+      var idempotencyService = mock(IdempotencyService.class);
+      ReflectionTestUtils.setField(instance, "idempotencyService", idempotencyService);
+      when(idempotencyService.getIdempotencyKey()).thenReturn(Optional.of("key"));
+      var patch = objectMapper.createObjectNode().put("personFullName", "New Name");
+
+      instance.requestPatch(new Request<>(patch, null, null), ID);
+
+      var inputCaptor = ArgumentCaptor.forClass(Request.class);
+      verify(idempotencyService).execute(any(), eq("key"), inputCaptor.capture(), any(), any());
+      assertThat((Object) inputCaptor.getValue().getPayload()).isEqualTo(
+          objectMapper.createObjectNode().put("entityId", ID.toString()).set("patch", patch));
+    }
+
+    @Test
+    void shouldSignOnlyJsonPatchDocument() throws JsonProcessingException {
+      instance = new GenericServiceTestImpl(replyingKafkaTemplate, topics,
+          digitalSignatureService, traceProvider, cephService, deletionQueue, objectMapper, Runnable::run, true, BUCKET_NAME);
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture =
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), new MockEntity());
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+      when(digitalSignatureService.store(any())).thenReturn("seal-key");
+      var patch = objectMapper.readTree(
+          "[{\"op\":\"replace\",\"path\":\"/personFullName\",\"value\":\"New Name\"}]");
+      var request = new Request<JsonNode>(patch, null, null);
+
+      instance.requestPatch(request, ID);
+
+      verify(digitalSignatureService)
+          .signSerialized(SerializedRequest.of(request, objectMapper).getSerialized());
+      verify(replyingKafkaTemplate).sendAndReceive(captor.capture());
+      assertThat(captor.getValue().headers().lastHeader(GenericService.PATCH_FORMAT_HEADER).value())
+          .isEqualTo(GenericService.JSON_PATCH.getBytes());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "[{\"value\":\"New Name\"}]",
+        "[{\"op\":\"rename\",\"path\":\"/personFullName\",\"value\":\"New Name\"}]",
+        "[{\"op\":\"replace\",\"value\":\"New Name\"}]",
+        "[{\"op\":\"replace\",\"path\":\"/personFullName\"}]",
+        "[{\"op\":\"add\",\"path\":\"/personFullName\"}]",
+        "[{\"op\":\"test\",\"path\":\"/personFullName\"}]",
+        "[{\"op\":\"move\",\"path\":\"/personFullName\"}]",
+        "[{\"op\":\"copy\",\"path\":\"/personFullName\",\"from\":1}]",
+        "[]",
+        "\"New Name\""
+    })
+    void shouldRejectInvalidPatchDocument(String document) throws JsonProcessingException {
+      var patch = objectMapper.readTree(document);
+
+      assertThrows(InvalidPatchException.class,
+          () -> instance.requestPatch(new Request<>(patch, null, null), ID));
+      verify(replyingKafkaTemplate, never()).sendAndReceive(any(ProducerRecord.class));
+    }
+
+    @Test
+    void shouldAcceptEveryJsonPatchOperation() throws JsonProcessingException {
+      RequestReplyFuture<String, Request<UUID>, String> replyFuture =
+          wrapResponseObjectAsKafkaReplay(new Request<>(ID, null, null), new MockEntity());
+      when(replyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(replyFuture);
+      var patch = objectMapper.readTree("["
+          + "{\"op\":\"test\",\"path\":\"/personFullName\",\"value\":\"Old Name\"},"
+          + "{\"op\":\"add\",\"path\":\"/personPassNumber\",\"value\":null},"
+          + "{\"op\":\"replace\",\"path\":\"/personFullName\",\"value\":\"New Name\"},"
+          + "{\"op\":\"copy\",\"from\":\"/personFullName\",\"path\":\"/previousName\"},"
+          + "{\"op\":\"move\",\"from\":\"/previousName\",\"path\":\"/formerName\"},"
+          + "{\"op\":\"remove\",\"path\":\"/formerName\"}]");
+
+      var response = instance.requestPatch(new Request<>(patch, null, null), ID);
+
+      assertThat(response.getStatus()).isEqualTo(Status.SUCCESS);
+    }
+  }
+
   private <I, O> RequestReplyFuture<String, I, String> wrapResponseObjectAsKafkaReplay(I input,
       O output) {
     return wrapResponseObjectAsKafkaReplayWithStatus(input, output, Status.SUCCESS);
@@ -290,6 +910,13 @@ class GenericServiceTest {
     }
   }
 
+  private CephObject cephObject(String content) {
+    CephObject cephObject = mock(CephObject.class);
+    when(cephObject.getContent())
+        .thenReturn(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    return cephObject;
+  }
+
   private <I, O> RequestReplyFuture<String, I, String> wrapResponseWithCephHeaderAsKafkaReplay() {
     RequestReplyFuture<String, I, String> replyFuture = new RequestReplyFuture<>();
     Response<O> responseWrapper = new Response<>();
@@ -24,6 +24,7 @@ import com.epam.digital.data.platform.starter.kafka.config.properties.KafkaPrope
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 import org.springframework.boot.test.context.TestComponent;
 import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
 
@@ -31,12 +32,14 @@ import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
 public class GenericServiceTestImpl extends GenericService<UUID, MockEntity> {
 
   public GenericServiceTestImpl(
-      ReplyingKafkaTemplate<String, Request<UUID>, String> replyingKafkaTemplate,
+      ReplyingKafkaTemplate<String, Request<UUID>, ?> replyingKafkaTemplate,
       KafkaProperties.RequestReplyHandler topics,
       DigitalSignatureService digitalSignatureService,
       TraceProvider traceProvider,
       CephService datafactoryResponseCephService,
+      CephDeletionQueue datafactoryResponseDeletionQueue,
       ObjectMapper objectMapper,
+      Executor kafkaResponseExecutor,
       boolean isEnabled,
       String datafactoryResponseBucket) {
     super(
@@ -45,7 +48,9 @@ public class GenericServiceTestImpl extends GenericService<UUID, MockEntity> {
         digitalSignatureService,
         traceProvider,
         datafactoryResponseCephService,
+        datafactoryResponseDeletionQueue,
         objectMapper,
+        kafkaResponseExecutor,
         isEnabled, datafactoryResponseBucket);
   }
 
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+import com.epam.digital.data.platform.integration.ceph.service.CephService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LargeRequestStorageTest {
+
+  private static final String BUCKET = "bucket";
+  private static final byte[] CONTENT = "{\"payload\":\"large\"}".getBytes(StandardCharsets.UTF_8);
+
+  @Mock
+  private CephService cephService;
+  @Captor
+  private ArgumentCaptor<InputStream> contentCaptor;
+
+  @Test
+  void shouldBeDisabledWithoutThreshold() {
+    var instance = new LargeRequestStorage(cephService, BUCKET, 0, false);
+
+    assertThat(instance.isEnabled()).isFalse();
+    assertThat(instance.exceedsThreshold(CONTENT)).isFalse();
+  }
+
+  @Test
+  void shouldCompareSerializedSizeWithThreshold() {
+    var instance = new LargeRequestStorage(cephService, BUCKET, CONTENT.length, false);
+
+    assertThat(instance.exceedsThreshold(CONTENT)).isFalse();
+    assertThat(instance.exceedsThreshold(new byte[CONTENT.length + 1])).isTrue();
+  }
+
+  @Test
+  void shouldStoreContentAsIs() throws IOException {
+    var instance = new LargeRequestStorage(cephService, BUCKET, 1, false);
+
+    var key = instance.store(CONTENT);
+
+    assertThat(key).startsWith("datafactory-request-");
+    verify(cephService).put(eq(BUCKET), eq(key), eq("application/json"), eq(Map.of()),
+        contentCaptor.capture());
+    assertThat(contentCaptor.getValue().readAllBytes()).isEqualTo(CONTENT);
+  }
+
+  @Test
+  void shouldStoreCompressedContent() throws IOException {
+    var instance = new LargeRequestStorage(cephService, BUCKET, 1, true);
+
+    instance.store(CONTENT);
+
+    verify(cephService).put(eq(BUCKET), startsWith("datafactory-request-"), any(),
+        eq(Map.of("content-encoding", "gzip")), contentCaptor.capture());
+    var compressed = contentCaptor.getValue().readAllBytes();
+    try (var gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      assertThat(gzip.readAllBytes()).isEqualTo(CONTENT);
+    }
+  }
+
+  @Test
+  void shouldDeleteStoredRequest() {
+    var instance = new LargeRequestStorage(cephService, BUCKET, 1, false);
+
+    instance.delete("datafactory-request-key");
+
+    verify(cephService).delete(BUCKET, Set.of("datafactory-request-key"));
+  }
+
+  @Test
+  void shouldNotFailWhenStoredRequestCannotBeDeleted() {
+    var instance = new LargeRequestStorage(cephService, BUCKET, 1, false);
+    doThrow(new RuntimeException("unavailable")).when(cephService).delete(any(), any());
+
+    assertDoesNotThrow(() -> instance.delete("datafactory-request-key"));
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+
+class WriteStageTimerTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private Tracer tracer;
+  private Span span;
+  private WriteStageTimer instance;
+
+  @BeforeEach
+  void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    tracer = mock(Tracer.class);
+    span = mock(Span.class);
+    instance = new WriteStageTimer(meterRegistry, Optional.of(tracer));
+  }
+
+  @Test
+  void shouldRecordStageTaggedByTopicAndStage() {
+    when(tracer.currentSpan()).thenReturn(span);
+
+    var result = instance.record("topic", WriteStageTimer.SEAL_SIGN, () -> "signature");
+
+    assertThat(result).isEqualTo("signature");
+    assertThat(meterRegistry.get(WriteStageTimer.METRIC)
+        .tag("topic", "topic")
+        .tag("stage", WriteStageTimer.SEAL_SIGN)
+        .timer().count()).isEqualTo(1);
+    verify(span).tag(eq("write.stage.seal-sign.ms"), anyString());
+  }
+
+  @Test
+  void shouldTagSpanTakenWhenStageStarted() {
+    var otherSpan = mock(Span.class);
+    when(tracer.currentSpan()).thenReturn(span, otherSpan);
+    var requestSpan = instance.currentSpan();
+
+    instance.record("topic", WriteStageTimer.KAFKA_ROUND_TRIP, 1_000_000, requestSpan);
+
+    verify(span).tag("write.stage.kafka-round-trip.ms", "1");
+    verifyNoInteractions(otherSpan);
+  }
+
+  @Test
+  void shouldRecordFailedStage() {
+    assertThrows(IllegalStateException.class,
+        () -> instance.record("topic", WriteStageTimer.SEAL_STORE, () -> {
+          throw new IllegalStateException();
+        }));
+
+    assertThat(meterRegistry.get(WriteStageTimer.METRIC)
+        .tag("stage", WriteStageTimer.SEAL_STORE)
+        .timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldRecordWithoutTracer() {
+    instance = new WriteStageTimer(meterRegistry, Optional.empty());
+
+    instance.record(WriteStageTimer.NO_TOPIC, WriteStageTimer.SIGNATURE_COPY, () -> {});
+    instance.record(WriteStageTimer.NO_TOPIC, WriteStageTimer.SIGNATURE_COPY, () -> {});
+
+    assertThat(meterRegistry.get(WriteStageTimer.METRIC)
+        .tag("topic", WriteStageTimer.NO_TOPIC)
+        .timer().count()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.digital.data.platform.restapi.core.utils.JooqConditions;
+import java.util.List;
+import java.util.UUID;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.junit.jupiter.api.Test;
+
+class JooqConditionsTest {
+
+  private final DSLContext context = DSL.using(SQLDialect.POSTGRES);
+
+  @Test
+  void shouldRenderSameSqlForDifferentListSizes() {
+    var oneValue = JooqConditions.eqAny(DSL.field("status"), List.of("new"));
+    var threeValues = JooqConditions.eqAny(DSL.field("status"), List.of("new", "done", "failed"));
+
+    assertThat(context.render(oneValue)).isEqualTo(context.render(threeValues));
+    assertThat(context.render(threeValues)).isEqualTo("status = any(?)");
+    assertThat(context.extractBindValues(threeValues)).hasSize(1);
+  }
+
+  @Test
+  void shouldBindValuesAsUntypedArrayLiteral() {
+    var condition = JooqConditions.eqAny(
+        DSL.field("person_gender"), List.of(Gender.M, "quoted \"name\"", "back\\slash"));
+
+    assertThat(context.renderInlined(condition))
+        .isEqualTo("person_gender = any('{\"M\",\"quoted \\\"name\\\"\",\"back\\\\slash\"}')");
+  }
+
+  @Test
+  void shouldBindUuidValuesAsUuidArray() {
+    var ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+    var condition = JooqConditions.eqAny(DSL.field("id"), ids, SQLDataType.UUID.getArrayDataType());
+
+    assertThat(context.render(condition)).contains("uuid");
+    assertThat((Object[]) context.extractBindValues(condition).get(0)).containsExactlyElementsOf(ids);
+  }
+
+  @Test
+  void shouldNotMatchAnythingForEmptyList() {
+    var condition = JooqConditions.eqAny(DSL.field("status"), List.of());
+
+    assertThat(condition).isEqualTo(DSL.falseCondition());
+  }
+
+  @Test
+  void shouldSkipConditionForMissingList() {
+    var condition = JooqConditions.eqAny(DSL.field("status"), null);
+
+    assertThat(condition).isEqualTo(DSL.noCondition());
+  }
+
+  enum Gender {
+    M, W
+  }
+}
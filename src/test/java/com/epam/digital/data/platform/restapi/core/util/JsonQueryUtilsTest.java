@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.digital.data.platform.restapi.core.utils.JsonQueryUtils;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+class JsonQueryUtilsTest {
+
+  private final DSLContext context = DSL.using(SQLDialect.POSTGRES);
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void shouldAliasColumnsToDtoProperties() {
+    var fields = JsonQueryUtils.dtoFields(objectMapper, PlainDto.class,
+        List.of(DSL.field("person_full_name"), DSL.field("id"), DSL.field("not_mapped")));
+
+    assertThat(fields).isPresent();
+    assertThat(fields.get())
+        .extracting(field -> ((Field<?>) field).getName())
+        .containsExactlyInAnyOrder("id", "fullName", "gender", "version");
+    var sql = context.select(fields.get()).from(DSL.table("test_entity")).getSQL();
+    assertThat(sql)
+        .contains("person_full_name as \"fullName\"")
+        .contains("null as \"gender\"")
+        .doesNotContain("not_mapped");
+  }
+
+  @Test
+  void shouldNotMapDtoWithFormattedValues() {
+    assertThat(JsonQueryUtils.dtoFields(objectMapper, DatedDto.class,
+        List.of(DSL.field("created")))).isEmpty();
+  }
+
+  @Test
+  void shouldNotMapDtoWithCustomEnumNames() {
+    assertThat(JsonQueryUtils.dtoFields(objectMapper, RenamedEnumDto.class,
+        List.of(DSL.field("status")))).isEmpty();
+  }
+
+  @Test
+  void shouldNotMapAsterisk() {
+    assertThat(JsonQueryUtils.dtoFields(objectMapper, PlainDto.class,
+        List.of(DSL.asterisk()))).isEmpty();
+  }
+
+  @Test
+  void shouldRenderRowsAsJsonArray() {
+    var rows = context.select(DSL.field("id")).from(DSL.table("test_entity"));
+
+    var sql = JsonQueryUtils.jsonArrayOf(context, rows).getSQL();
+
+    assertThat(sql)
+        .startsWith("select cast(coalesce(json_agg(\"ddm_row\"), cast('[]' as json)) as text)")
+        .contains("from (select id from test_entity)");
+  }
+
+  @Test
+  void shouldRenderRowAsJsonObject() {
+    var row = context.select(DSL.field("id")).from(DSL.table("test_entity"));
+
+    var sql = JsonQueryUtils.jsonObjectOf(context, row).getSQL();
+
+    assertThat(sql).startsWith("select cast(row_to_json(\"ddm_row\") as text)");
+  }
+
+  enum Gender {
+    M, W
+  }
+
+  enum Status {
+    ACTIVE;
+
+    @JsonValue
+    public String label() {
+      return "active";
+    }
+  }
+
+  static class PlainDto {
+    public UUID id;
+    @JsonProperty("fullName")
+    public String personFullName;
+    public Gender gender;
+    public Long version;
+  }
+
+  static class DatedDto {
+    public LocalDateTime created;
+  }
+
+  static class RenamedEnumDto {
+    public Status status;
+  }
+}
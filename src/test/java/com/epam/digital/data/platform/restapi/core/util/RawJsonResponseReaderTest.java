@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.restapi.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.epam.digital.data.platform.restapi.core.utils.RawJsonResponseReader;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class RawJsonResponseReaderTest {
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  @Test
+  void shouldCopyPayloadAsRawJson() {
+    var reply = "{\"status\":\"CREATED\",\"payload\":{\"id\":\"1\",\"tags\":[1,2]},\"details\":null}";
+
+    var response = RawJsonResponseReader.read(jsonFactory, reply);
+
+    assertThat(response.getStatus()).isEqualTo(Status.CREATED);
+    assertThat(response.getDetails()).isNull();
+    assertThat(new String(response.getPayload(), StandardCharsets.UTF_8))
+        .isEqualTo("{\"id\":\"1\",\"tags\":[1,2]}");
+  }
+
+  @Test
+  void shouldReadStatusAndDetailsWithoutPayload() {
+    var reply = "{\"payload\":null,\"status\":\"CONSTRAINT_VIOLATION\",\"details\":\"unique\"}";
+
+    var response = RawJsonResponseReader.read(
+        jsonFactory, new ByteArrayInputStream(reply.getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(response.getStatus()).isEqualTo(Status.CONSTRAINT_VIOLATION);
+    assertThat(response.getDetails()).isEqualTo("unique");
+    assertThat(response.getPayload()).isNull();
+  }
+
+  @Test
+  void shouldSkipUnknownFields() {
+    var reply = "{\"extra\":{\"nested\":[{}]},\"payload\":\"text\",\"status\":\"SUCCESS\"}";
+
+    var response = RawJsonResponseReader.read(
+        jsonFactory, reply.getBytes(StandardCharsets.UTF_8));
+
+    assertThat(response.getStatus()).isEqualTo(Status.SUCCESS);
+    assertThat(new String(response.getPayload(), StandardCharsets.UTF_8)).isEqualTo("\"text\"");
+  }
+
+  @Test
+  void shouldFailOnMalformedReply() {
+    assertThrows(RuntimeJsonMappingException.class,
+        () -> RawJsonResponseReader.read(jsonFactory, "[]"));
+  }
+}